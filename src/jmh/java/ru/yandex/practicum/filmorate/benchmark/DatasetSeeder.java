@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Random;
+
+class DatasetSeeder {
+    private static final int BATCH_SIZE = 10_000;
+    private static final int GENRES = 6;
+    private static final int MPA_RATINGS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    DatasetSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void seed(int films, int users, int likes, int friendsPerUser) {
+        batch("insert into film(name, description, releaseDate, duration, mpa_rating_id) values (?, ?, ?, ?, ?)",
+                films, (stmt, i) -> {
+                    stmt.setString(1, "film" + i);
+                    stmt.setString(2, "description" + i);
+                    stmt.setDate(3, Date.valueOf(LocalDate.of(1950 + i % 70, 1 + i % 12, 1 + i % 28)));
+                    stmt.setInt(4, 60 + i % 120);
+                    stmt.setInt(5, 1 + i % MPA_RATINGS);
+                });
+        batch("insert into film_genres(film_id, genre_id) values (?, ?)", films, (stmt, i) -> {
+            stmt.setInt(1, i + 1);
+            stmt.setInt(2, 1 + i % GENRES);
+        });
+        batch("insert into users(name, login, email, birthday) values (?, ?, ?, ?)", users, (stmt, i) -> {
+            stmt.setString(1, "user" + i);
+            stmt.setString(2, "login" + i);
+            stmt.setString(3, i + "user@email.ru");
+            stmt.setDate(4, Date.valueOf(LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28)));
+        });
+        batch("merge into user_likes key(film_id, user_id) values (?, ?)", likes, (stmt, i) -> {
+            double rank = random.nextDouble();
+            stmt.setInt(1, (int) (films * rank * rank * rank) + 1);
+            stmt.setInt(2, random.nextInt(users) + 1);
+        });
+        batch("merge into friends key(user_id, friend_id) values (?, ?)", users * friendsPerUser, (stmt, i) -> {
+            int userId = i / friendsPerUser + 1;
+            int friendId = random.nextInt(users) + 1;
+            stmt.setInt(1, userId);
+            stmt.setInt(2, friendId == userId ? userId % users + 1 : friendId);
+        });
+    }
+
+    private void batch(String sql, int count, ParameterSetter setter) {
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            int offset = start;
+            int size = Math.min(BATCH_SIZE, count - start);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement stmt, int i) throws SQLException {
+                    setter.setValues(stmt, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private interface ParameterSetter {
+        void setValues(PreparedStatement stmt, int index) throws SQLException;
+    }
+}
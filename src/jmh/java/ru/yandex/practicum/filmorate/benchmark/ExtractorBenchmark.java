@@ -0,0 +1,90 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.util.FilmsExtractor;
+import ru.yandex.practicum.filmorate.util.FriendsExtractor;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractorBenchmark {
+    private static final int GENRES_PER_FILM = 2;
+    private static final int FRIENDS_PER_USER = 20;
+
+    @Param("1000")
+    public int rows;
+
+    private final FilmsExtractor filmsExtractor = new FilmsExtractor();
+    private final FriendsExtractor friendsExtractor = new FriendsExtractor();
+    private SimpleResultSet films;
+    private SimpleResultSet friends;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        films = new SimpleResultSet();
+        films.setAutoClose(false);
+        films.addColumn("film_id", Types.INTEGER, 10, 0);
+        films.addColumn("name", Types.VARCHAR, 255, 0);
+        films.addColumn("description", Types.VARCHAR, 200, 0);
+        films.addColumn("releasedate", Types.DATE, 10, 0);
+        films.addColumn("duration", Types.INTEGER, 10, 0);
+        films.addColumn("mpa_rating_id", Types.INTEGER, 10, 0);
+        films.addColumn("mpa_name", Types.VARCHAR, 10, 0);
+        films.addColumn("likes_count", Types.INTEGER, 10, 0);
+        films.addColumn("genre_id", Types.INTEGER, 10, 0);
+        films.addColumn("genre_name", Types.VARCHAR, 50, 0);
+        for (int i = 1; i <= rows; i++) {
+            for (int genre = 1; genre <= GENRES_PER_FILM; genre++) {
+                films.addRow(i, "film" + i, "description" + i, Date.valueOf(LocalDate.of(2000, 1, 1)), 120,
+                        1, "G", i, genre, "genre" + genre);
+            }
+        }
+
+        friends = new SimpleResultSet();
+        friends.setAutoClose(false);
+        friends.addColumn("user_id", Types.INTEGER, 10, 0);
+        friends.addColumn("friend_id", Types.INTEGER, 10, 0);
+        for (int i = 1; i <= rows; i++) {
+            for (int friend = 1; friend <= FRIENDS_PER_USER; friend++) {
+                friends.addRow(i, friend);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Film> filmsExtractor() throws SQLException {
+        films.beforeFirst();
+        return filmsExtractor.extractData(films);
+    }
+
+    @Benchmark
+    public Map<Integer, Set<Integer>> friendsExtractor() throws SQLException {
+        friends.beforeFirst();
+        return friendsExtractor.extractData(friends);
+    }
+}
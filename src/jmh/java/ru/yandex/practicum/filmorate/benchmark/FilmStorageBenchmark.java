@@ -0,0 +1,37 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FilmStorageBenchmark {
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Film> getAll(SeededApplication app) {
+        return app.filmDbStorage.getAll();
+    }
+
+    @Benchmark
+    public Film findFilmById(SeededApplication app) {
+        return app.filmDbStorage.getFilmById(app.randomFilmId());
+    }
+
+    @Benchmark
+    public List<Integer> getFilmLikes(SeededApplication app) {
+        return app.filmDbStorage.getFilmLikes(app.randomFilmId(), 0, 100);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.util.IntHashSet;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение множества лайков на примитивах с HashSet. Расход памяти на операцию виден с профилировщиком
+ * {@code -prof gc} в метрике gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LikeSetBenchmark {
+    @Param({"100", "10000"})
+    public int setSize;
+
+    private int[] userIds;
+    private IntHashSet intHashSet;
+    private Set<Integer> hashSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        userIds = new int[setSize];
+        for (int i = 0; i < setSize; i++) {
+            userIds[i] = random.nextInt(setSize * 10) + 1;
+        }
+        intHashSet = buildIntHashSet();
+        hashSet = buildHashSet();
+    }
+
+    @Benchmark
+    public IntHashSet buildIntHashSet() {
+        IntHashSet set = new IntHashSet();
+        for (int userId : userIds) {
+            set.add(userId);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<Integer> buildHashSet() {
+        Set<Integer> set = new HashSet<>();
+        for (int userId : userIds) {
+            set.add(userId);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int containsIntHashSet() {
+        int found = 0;
+        for (int userId : userIds) {
+            if (intHashSet.contains(userId + 1)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsHashSet() {
+        int found = 0;
+        for (int userId : userIds) {
+            if (hashSet.contains(userId + 1)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
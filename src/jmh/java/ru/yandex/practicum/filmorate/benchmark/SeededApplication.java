@@ -0,0 +1,89 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.storage.film_storage.CachedFilmStorage;
+import ru.yandex.practicum.filmorate.storage.film_storage.FilmDbStorage;
+import ru.yandex.practicum.filmorate.storage.user_storage.CachedUserStorage;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Контекст приложения без веб-сервера на отдельной in-memory базе H2, заполненной синтетическими данными.
+ * Размер набора задается параметрами JMH, например {@code -p films=1000000 -p likes=10000000}.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+    @Param("10000")
+    public int films;
+
+    @Param("100000")
+    public int likes;
+
+    @Param("10000")
+    public int users;
+
+    @Param("20")
+    public int friendsPerUser;
+
+    JdbcTemplate jdbcTemplate;
+    FilmDbStorage filmDbStorage;
+    FilmService filmService;
+    UserService userService;
+    int benchmarkUserId;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FilmorateApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        filmDbStorage = context.getBean(FilmDbStorage.class);
+        filmService = context.getBean(FilmService.class);
+        userService = context.getBean(UserService.class);
+
+        new DatasetSeeder(jdbcTemplate).seed(films, users, likes, friendsPerUser);
+        context.getBean(CachedFilmStorage.class).recalculateLikesCount();
+        context.getBean(CachedUserStorage.class).loadFriendGraph();
+
+        benchmarkUserId = userService.createUser(User.builder()
+                .email("benchmark@email.ru")
+                .login("benchmark")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("shutdown");
+        context.close();
+    }
+
+    int randomFilmId() {
+        return ThreadLocalRandom.current().nextInt(films) + 1;
+    }
+
+    int randomUserId() {
+        return ThreadLocalRandom.current().nextInt(users) + 1;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Benchmark
+    public List<Film> getPopularFilms(SeededApplication app) {
+        return app.filmService.getPopularFilms(10, new PopularFilmsFilter(), null);
+    }
+
+    @Benchmark
+    public List<Film> getPopularFilmsByGenre(SeededApplication app) {
+        int genreId = ThreadLocalRandom.current().nextInt(6) + 1;
+        return app.filmService.getPopularFilms(10, new PopularFilmsFilter(genreId, null, null), null);
+    }
+
+    @Benchmark
+    public void addAndRemoveLike(SeededApplication app) {
+        int filmId = app.randomFilmId();
+        app.filmService.addLike(filmId, app.benchmarkUserId);
+        app.filmService.removeLike(filmId, app.benchmarkUserId);
+    }
+
+    @Benchmark
+    public List<User> getCommonFriends(SeededApplication app) {
+        return app.userService.getCommonFriends(app.randomUserId(), app.randomUserId());
+    }
+}
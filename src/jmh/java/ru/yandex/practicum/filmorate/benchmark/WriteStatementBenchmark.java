@@ -0,0 +1,144 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Сравнение записи жанров, лайков и друзей: прежний SQL со списком значений, собранным через String.format,
+ * против фиксированного prepared statement в batch и удаления по массиву {@code = any(?)}.
+ * Каждая операция вставляет {@code rows} строк и удаляет их, чтобы состояние базы не менялось. Набор id лайков
+ * и друзей сдвигается при каждом вызове, поэтому прежний SQL, как и в работе, не повторяется дословно.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WriteStatementBenchmark {
+    @Param({"1", "10", "100"})
+    public int rows;
+
+    private JdbcTemplate jdbcTemplate;
+    private int filmId;
+    private int userId;
+    private List<Integer> genreIds;
+    private int maxOffset;
+    private int offset;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        jdbcTemplate = app.jdbcTemplate;
+        jdbcTemplate.update("insert into film(name, description, releaseDate, duration, mpa_rating_id) " +
+                "values (?, ?, ?, ?, ?)", "benchmark", "benchmark", Date.valueOf(LocalDate.of(2000, 1, 1)), 100, 1);
+        filmId = jdbcTemplate.queryForObject("select max(film_id) from film", Integer.class);
+        jdbcTemplate.update("insert into users(name, login, email, birthday) values (?, ?, ?, ?)",
+                "writer", "writer", "writer@email.ru", Date.valueOf(LocalDate.of(1990, 1, 1)));
+        userId = jdbcTemplate.queryForObject("select max(user_id) from users", Integer.class);
+
+        genreIds = jdbcTemplate.queryForList("select genre_id from genre order by genre_id", Integer.class).stream()
+                .limit(rows)
+                .collect(Collectors.toList());
+        maxOffset = Math.max(app.users - rows, 1);
+    }
+
+    @Benchmark
+    public int genresFormatted() {
+        StringBuilder insert = new StringBuilder("insert into film_genres(film_id, genre_id) values");
+        genreIds.forEach(genreId -> insert.append(String.format("(%d, %d),", filmId, genreId)));
+        insert.deleteCharAt(insert.length() - 1);
+        jdbcTemplate.update(insert.toString());
+
+        StringBuilder delete = new StringBuilder("delete from film_genres where film_id = ? and genre_id IN (");
+        genreIds.forEach(genreId -> delete.append(String.format("%d,", genreId)));
+        delete.deleteCharAt(delete.length() - 1).append(')');
+        return jdbcTemplate.update(delete.toString(), filmId);
+    }
+
+    @Benchmark
+    public int genresBatched() {
+        jdbcTemplate.batchUpdate("insert into film_genres(film_id, genre_id) values (?, ?)", genreIds,
+                genreIds.size(), (stmt, genreId) -> {
+                    stmt.setInt(1, filmId);
+                    stmt.setInt(2, genreId);
+                });
+        return jdbcTemplate.update("delete from film_genres where film_id = ? and genre_id = any(?)", filmId,
+                genreIds.toArray(new Integer[0]));
+    }
+
+    @Benchmark
+    public int likesFormatted() {
+        List<Integer> otherUserIds = nextUserIds();
+        StringBuilder insert = new StringBuilder("insert into user_likes(film_id, user_id) values");
+        otherUserIds.forEach(id -> insert.append(String.format("(%d, %d),", filmId, id)));
+        insert.deleteCharAt(insert.length() - 1);
+        jdbcTemplate.update(insert.toString());
+
+        StringBuilder delete = new StringBuilder("delete from user_likes where film_id = ? and user_id IN (");
+        otherUserIds.forEach(id -> delete.append(String.format("%d,", id)));
+        delete.deleteCharAt(delete.length() - 1).append(')');
+        return jdbcTemplate.update(delete.toString(), filmId);
+    }
+
+    @Benchmark
+    public int likesBatched() {
+        List<Integer> otherUserIds = nextUserIds();
+        jdbcTemplate.batchUpdate("insert into user_likes(film_id, user_id) values (?, ?)", otherUserIds,
+                otherUserIds.size(), (stmt, id) -> {
+                    stmt.setInt(1, filmId);
+                    stmt.setInt(2, id);
+                });
+        return jdbcTemplate.update("delete from user_likes where film_id = ? and user_id = any(?)", filmId,
+                otherUserIds.toArray(new Integer[0]));
+    }
+
+    @Benchmark
+    public int friendsFormatted() {
+        List<Integer> otherUserIds = nextUserIds();
+        StringBuilder insert = new StringBuilder("insert into friends(user_id, friend_id) values");
+        otherUserIds.forEach(id -> insert.append(String.format("(%d, %d),", userId, id)));
+        insert.deleteCharAt(insert.length() - 1);
+        jdbcTemplate.update(insert.toString());
+
+        StringBuilder delete = new StringBuilder("delete from friends where user_id = ? and friend_id IN (");
+        otherUserIds.forEach(id -> delete.append(String.format("%d,", id)));
+        delete.deleteCharAt(delete.length() - 1).append(')');
+        return jdbcTemplate.update(delete.toString(), userId);
+    }
+
+    @Benchmark
+    public int friendsBatched() {
+        List<Integer> otherUserIds = nextUserIds();
+        jdbcTemplate.batchUpdate("insert into friends(user_id, friend_id) values (?, ?)", otherUserIds,
+                otherUserIds.size(), (stmt, id) -> {
+                    stmt.setInt(1, userId);
+                    stmt.setInt(2, id);
+                });
+        return jdbcTemplate.update("delete from friends where user_id = ? and friend_id = any(?)", userId,
+                otherUserIds.toArray(new Integer[0]));
+    }
+
+    private List<Integer> nextUserIds() {
+        int first = offset + 1;
+        offset = (offset + 1) % maxOffset;
+        return IntStream.range(first, first + rows).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.yandex.practicum.filmorate.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.yandex.practicum.filmorate.model.ImportReport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Заполняет приложение синтетическими данными через эндпоинты импорта.
+ * Популярность фильмов, активность пользователей и число друзей подчиняются степенному закону.
+ */
+class DatasetGenerator {
+    private static final int CHUNK_LINES = 50_000;
+    private static final int GENRES = 6;
+    private static final int MPA_RATINGS = 5;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Random random;
+
+    DatasetGenerator(HttpClient client, String baseUrl, ObjectMapper objectMapper, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.random = new Random(seed);
+    }
+
+    void generate(int films, int users, int likes, int friendships, ZipfDistribution filmPopularity,
+                  ZipfDistribution userActivity) throws IOException, InterruptedException {
+        importLines("/import/films", films, i -> String.format("{\"name\":\"film%d\"," +
+                        "\"description\":\"description%d\",\"releaseDate\":\"%s\",\"duration\":%d," +
+                        "\"mpa\":{\"id\":%d},\"genres\":[{\"id\":%d}]}",
+                i, i, LocalDate.of(1950 + i % 70, 1 + i % 12, 1 + i % 28), 60 + i % 120, 1 + i % MPA_RATINGS,
+                1 + i % GENRES));
+        importLines("/import/users", users, i -> String.format("{\"email\":\"%duser@email.ru\"," +
+                        "\"login\":\"login%d\",\"name\":\"user%d\",\"birthday\":\"%s\"}",
+                i, i, i, LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28)));
+        importLines("/import/likes", likes, i -> String.format("{\"filmId\":%d,\"userId\":%d}",
+                filmPopularity.sample(random), userActivity.sample(random)));
+        importLines("/import/friends", friendships, i -> {
+            int userId = userActivity.sample(random);
+            int friendId = userActivity.sample(random);
+            return String.format("{\"userId\":%d,\"friendId\":%d}", userId,
+                    friendId == userId ? userId % users + 1 : friendId);
+        });
+    }
+
+    private void importLines(String path, int count, IntFunction<String> line)
+            throws IOException, InterruptedException {
+        ImportReport total = new ImportReport();
+        for (int start = 0; start < count; start += CHUNK_LINES) {
+            StringBuilder body = new StringBuilder();
+            for (int i = start; i < Math.min(start + CHUNK_LINES, count); i++) {
+                body.append(line.apply(i)).append('\n');
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(String.format("Импорт %s завершился со статусом %d: %s",
+                        path, response.statusCode(), response.body()));
+            }
+
+            ImportReport report = objectMapper.readValue(response.body(), ImportReport.class);
+            total.setProcessed(total.getProcessed() + report.getProcessed());
+            total.setImported(total.getImported() + report.getImported());
+            total.setSkipped(total.getSkipped() + report.getSkipped());
+            total.setFailed(total.getFailed() + report.getFailed());
+        }
+        System.out.printf("%s: обработано %d, загружено %d, пропущено %d, с ошибкой %d%n", path,
+                total.getProcessed(), total.getImported(), total.getSkipped(), total.getFailed());
+    }
+}
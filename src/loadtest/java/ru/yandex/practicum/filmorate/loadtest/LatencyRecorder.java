@@ -0,0 +1,51 @@
+package ru.yandex.practicum.filmorate.loadtest;
+
+import java.util.Arrays;
+
+class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void record(long latencyNanos, boolean success) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+        sorted = false;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (size + other.size > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+        }
+        System.arraycopy(other.latencies, 0, latencies, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    int getCount() {
+        return size;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, size);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return latencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
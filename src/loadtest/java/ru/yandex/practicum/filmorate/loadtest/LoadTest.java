@@ -0,0 +1,190 @@
+package ru.yandex.practicum.filmorate.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузочный тест основных эндпоинтов. Поднимает приложение на in-memory базе H2 (или использует
+ * уже запущенное по параметру baseUrl), заполняет его данными и для каждого эндпоинта повышает число
+ * потоков, пока p99 не превысит порог. Параметры передаются аргументами вида name=value.
+ */
+public class LoadTest {
+    private static final String REPORT_HEADER = "endpoint,threads,requests,errors,rps,p50_ms,p99_ms,p999_ms";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int films = intOption(options, "films", 10_000);
+        int users = intOption(options, "users", 10_000);
+        int likes = intOption(options, "likes", 200_000);
+        int friendships = intOption(options, "friendships", 100_000);
+        Duration warmup = Duration.ofSeconds(intOption(options, "warmupSeconds", 5));
+        Duration step = Duration.ofSeconds(intOption(options, "stepSeconds", 10));
+        double p99LimitMillis = intOption(options, "p99LimitMs", 500);
+        int[] threadSteps = Arrays.stream(options.getOrDefault("threads", "1,2,4,8,16,32,64").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("baseUrl");
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(FilmorateApplication.class)
+                    .logStartupInfo(false)
+                    .properties("server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                            "logging.level.root=" + options.getOrDefault("logLevel", "WARN"))
+                    .run("--filmorate.jdbc.query-budget=0",
+                            "--filmorate.logging.appender=" + options.getOrDefault("logAppender", "ASYNC"));
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ZipfDistribution filmPopularity = new ZipfDistribution(films, 1.1);
+            ZipfDistribution userActivity = new ZipfDistribution(users, 0.8);
+            new DatasetGenerator(client, baseUrl, new ObjectMapper(), 42)
+                    .generate(films, users, likes, friendships, filmPopularity, userActivity);
+
+            Map<String, Supplier<HttpRequest>> endpoints = endpoints(baseUrl, films, users, filmPopularity,
+                    userActivity);
+            List<String> report = new ArrayList<>();
+            report.add(REPORT_HEADER);
+            System.out.printf("%-40s %7s %9s %7s %9s %9s %9s %9s%n",
+                    "endpoint", "threads", "requests", "errors", "rps", "p50, ms", "p99, ms", "p999, ms");
+
+            for (Map.Entry<String, Supplier<HttpRequest>> endpoint : endpoints.entrySet()) {
+                run(client, endpoint.getValue(), threadSteps[threadSteps.length - 1], warmup);
+                for (int threads : threadSteps) {
+                    LatencyRecorder result = run(client, endpoint.getValue(), threads, step);
+                    double rps = result.getCount() / (double) step.toSeconds();
+                    System.out.printf("%-40s %7d %9d %7d %9.1f %9.2f %9.2f %9.2f%n", endpoint.getKey(), threads,
+                            result.getCount(), result.getErrors(), rps, result.percentileMillis(50),
+                            result.percentileMillis(99), result.percentileMillis(99.9));
+                    report.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f",
+                            endpoint.getKey(), threads, result.getCount(), result.getErrors(), rps,
+                            result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9)));
+                    if (result.percentileMillis(99) > p99LimitMillis) {
+                        break;
+                    }
+                }
+            }
+
+            Path reportPath = Path.of(options.getOrDefault("report", "target/loadtest-report.csv"));
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(reportPath))) {
+                report.forEach(writer::println);
+            }
+            System.out.printf("Отчет сохранен в %s%n", reportPath.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<String, Supplier<HttpRequest>> endpoints(String baseUrl, int films, int users,
+                                                                ZipfDistribution filmPopularity,
+                                                                ZipfDistribution userActivity) {
+        Map<String, Supplier<HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /films/popular", () -> HttpRequest.newBuilder(
+                URI.create(baseUrl + "/films/popular?count=10")).GET().build());
+        endpoints.put("PUT /films", () -> {
+            int filmId = filmPopularity.sample(ThreadLocalRandom.current());
+            String body = String.format("{\"id\":%d,\"name\":\"film%d\",\"description\":\"updated\"," +
+                    "\"releaseDate\":\"2000-01-01\",\"duration\":120,\"mpa\":{\"id\":1}," +
+                    "\"genres\":[{\"id\":1}]}", filmId, filmId);
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/films"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+        endpoints.put("PUT /films/{id}/like/{userId}", () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return HttpRequest.newBuilder(URI.create(String.format("%s/films/%d/like/%d", baseUrl,
+                    filmPopularity.sample(random), random.nextInt(users) + 1)))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        });
+        endpoints.put("GET /users/{id}/friends/common/{otherId}", () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return HttpRequest.newBuilder(URI.create(String.format("%s/users/%d/friends/common/%d", baseUrl,
+                    userActivity.sample(random), userActivity.sample(random)))).GET().build();
+        });
+        return endpoints;
+    }
+
+    private static LatencyRecorder run(HttpClient client, Supplier<HttpRequest> requests, int threads,
+                                       Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<LatencyRecorder>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests.get();
+                    long start = System.nanoTime();
+                    boolean success;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        success = response.statusCode() < 400;
+                    } catch (IOException e) {
+                        success = false;
+                    }
+                    recorder.record(System.nanoTime() - start, success);
+                }
+                return recorder;
+            }));
+        }
+
+        LatencyRecorder result = new LatencyRecorder();
+        for (Future<LatencyRecorder> worker : workers) {
+            result.merge(worker.get());
+        }
+        executor.shutdown();
+        return result;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(String.format("Ожидался аргумент вида name=value: %s", arg));
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
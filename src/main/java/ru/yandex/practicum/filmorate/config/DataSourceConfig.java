@@ -0,0 +1,42 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties,
+                                       @Value("${filmorate.datasource.connections-per-core:2}") int connectionsPerCore) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+
+        int poolSize = Runtime.getRuntime().availableProcessors() * connectionsPerCore + 1;
+        dataSource.setMaximumPoolSize(poolSize);
+        log.info("Размер пула соединений по умолчанию: {}.", poolSize);
+
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource queryStatsDataSource(HikariDataSource dataSource, QueryStatsListener queryStatsListener) {
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(dataSource.getPoolName())
+                .listener(queryStatsListener)
+                .build();
+    }
+}
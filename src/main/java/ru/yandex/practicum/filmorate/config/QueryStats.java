@@ -0,0 +1,14 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.Getter;
+
+@Getter
+class QueryStats {
+    private int count;
+    private long elapsedMillis;
+
+    synchronized void add(int statements, long elapsed) {
+        count += statements;
+        elapsedMillis += elapsed;
+    }
+}
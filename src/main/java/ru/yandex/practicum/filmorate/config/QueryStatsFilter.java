@@ -0,0 +1,92 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import static ru.yandex.practicum.filmorate.config.QueryStatsListener.QUERY_COUNT_MDC_KEY;
+import static ru.yandex.practicum.filmorate.config.QueryStatsListener.QUERY_STATS_ATTRIBUTE;
+import static ru.yandex.practicum.filmorate.config.QueryStatsListener.QUERY_TIME_MDC_KEY;
+
+/**
+ * Считает SQL-запросы за HTTP-запрос и отдаёт их в заголовках X-Query-Count и X-Query-Time-Ms.
+ * Заголовки выставляются перед первой записью тела ответа, поэтому учитывают запросы, выполненные до неё.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryStatsFilter extends OncePerRequestFilter {
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = new QueryStats();
+        request.setAttribute(QUERY_STATS_ATTRIBUTE, stats);
+        QueryStatsResponse statsResponse = new QueryStatsResponse(response, stats);
+        try {
+            chain.doFilter(request, statsResponse);
+            statsResponse.writeHeaders();
+        } finally {
+            MDC.remove(QUERY_COUNT_MDC_KEY);
+            MDC.remove(QUERY_TIME_MDC_KEY);
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("filmorate.jdbc.queries.per.request")
+                    .description("Количество SQL-запросов за один HTTP-запрос")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .register(meterRegistry)
+                    .record(stats.getCount());
+        }
+    }
+
+    private static class QueryStatsResponse extends HttpServletResponseWrapper {
+        private final QueryStats stats;
+
+        QueryStatsResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        void writeHeaders() {
+            if (isCommitted()) {
+                return;
+            }
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getCount()));
+            setHeader(QUERY_TIME_HEADER, String.valueOf(stats.getElapsedMillis()));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+public class QueryStatsListener implements QueryExecutionListener {
+    static final String QUERY_STATS_ATTRIBUTE = QueryStatsListener.class.getName() + ".stats";
+    static final String QUERY_COUNT_MDC_KEY = "queryCount";
+    static final String QUERY_TIME_MDC_KEY = "queryTimeMs";
+    private static final String SLOW_QUERY_LOG = "Медленный запрос к базе данных ({} мс): {}";
+    private static final String QUERY_BUDGET_FORMAT = "Превышен лимит запросов к базе данных за HTTP-запрос: %d.";
+    private static final String QUERY_BUDGET_LOG = "Превышен лимит запросов к базе данных за HTTP-запрос: {}.";
+
+    private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+    private final long slowQueryThresholdMillis;
+    private final int queryBudget;
+    private final boolean failOnQueryBudget;
+
+    public QueryStatsListener(@Value("${filmorate.jdbc.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+                              @Value("${filmorate.jdbc.query-budget:0}") int queryBudget,
+                              @Value("${filmorate.jdbc.query-budget.fail:false}") boolean failOnQueryBudget) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+        this.queryBudget = queryBudget;
+        this.failOnQueryBudget = failOnQueryBudget;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = currentStats();
+        if (stats == null || queryBudget <= 0 || stats.getCount() < queryBudget) {
+            return;
+        }
+        if (failOnQueryBudget) {
+            throw new IllegalStateException(String.format(QUERY_BUDGET_FORMAT, queryBudget));
+        }
+        if (stats.getCount() == queryBudget) {
+            log.warn(QUERY_BUDGET_LOG, queryBudget);
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed >= slowQueryThresholdMillis) {
+            log.warn(SLOW_QUERY_LOG, elapsed,
+                    logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+        }
+
+        QueryStats stats = currentStats();
+        if (stats == null) {
+            return;
+        }
+        stats.add(1, elapsed);
+        MDC.put(QUERY_COUNT_MDC_KEY, String.valueOf(stats.getCount()));
+        MDC.put(QUERY_TIME_MDC_KEY, String.valueOf(stats.getElapsedMillis()));
+    }
+
+    private QueryStats currentStats() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (QueryStats) attributes.getAttribute(QUERY_STATS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ru.yandex.practicum.filmorate.config.StorageMetricsAspect.STORAGE_CALLS_ATTRIBUTE;
+
+@Component
+@RequiredArgsConstructor
+public class StorageCallsInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STORAGE_CALLS_ATTRIBUTE, new AtomicInteger());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        AtomicInteger calls = (AtomicInteger) request.getAttribute(STORAGE_CALLS_ATTRIBUTE);
+        if (calls == null) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("filmorate.storage.calls.per.request")
+                .description("Количество вызовов хранилищ за один HTTP-запрос")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(meterRegistry)
+                .record(calls.get());
+    }
+}
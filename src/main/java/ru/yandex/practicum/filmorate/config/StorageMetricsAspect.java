@@ -0,0 +1,59 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class StorageMetricsAspect {
+    static final String STORAGE_CALLS_ATTRIBUTE = StorageMetricsAspect.class.getName() + ".calls";
+
+    private static final ThreadLocal<int[]> NESTING = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.yandex.practicum.filmorate.storage..*Storage.*(..))")
+    public Object timeStorageCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] depth = NESTING.get();
+        if (depth[0]++ == 0) {
+            countRequestStorageCall();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            depth[0]--;
+            sample.stop(Timer.builder("filmorate.storage.calls")
+                    .description("Время вызова методов хранилищ")
+                    .tag("storage", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void countRequestStorageCall() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object calls = attributes.getAttribute(STORAGE_CALLS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (calls != null) {
+            ((AtomicInteger) calls).incrementAndGet();
+        }
+    }
+}
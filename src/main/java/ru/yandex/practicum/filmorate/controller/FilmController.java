@@ -1,10 +1,16 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
 import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.util.NdjsonWriter;
 
 import javax.validation.Valid;
 import java.util.Collection;
@@ -16,11 +22,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FilmController {
     private final FilmService filmService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<Film> getFilms() {
-        log.info("Получен запрос к эндпоинту: 'GET /films'");
-        return filmService.getFilms();
+    public List<Film> getFilms(@RequestParam(name = "afterId", required = false) Integer afterId,
+                               @RequestParam(name = "limit", required = false) Integer limit,
+                               @RequestParam(name = "fields", required = false) String fields) {
+        if (afterId == null && limit == null) {
+            log.info("Получен запрос к эндпоинту: 'GET /films', fields = {}", fields);
+            return filmService.getFilms(fields);
+        }
+        log.info("Получен запрос к эндпоинту: 'GET /films', afterId = {}, limit = {}, fields = {}", afterId, limit, fields);
+        return filmService.getFilmsPage(afterId, limit, fields);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFilms() {
+        log.info("Получен запрос к эндпоинту: 'GET /films', формат ответа: {}", MediaType.APPLICATION_NDJSON_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<Film> writer = new NdjsonWriter<>(objectMapper, outputStream);
+            filmService.streamFilms(writer);
+            writer.close();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -31,16 +57,29 @@ public class FilmController {
     }
 
     @GetMapping("/popular")
-    public Collection<Film> getPopularFilms(@RequestParam(name = "count", required = false, defaultValue = "10") Integer count) {
-        log.info("Получен запрос к эндпоинту: 'GET /films/popular', count = {}", count);
-        return filmService.getPopularFilms(count);
+    public Collection<Film> getPopularFilms(@RequestParam(name = "count", required = false, defaultValue = "10") Integer count,
+                                            @RequestParam(name = "genreId", required = false) Integer genreId,
+                                            @RequestParam(name = "year", required = false) Integer year,
+                                            @RequestParam(name = "mpaId", required = false) Integer mpaId,
+                                            @RequestParam(name = "fields", required = false) String fields) {
+        log.info("Получен запрос к эндпоинту: 'GET /films/popular', count = {}, genreId = {}, year = {}, mpaId = {}, " +
+                "fields = {}", count, genreId, year, mpaId, fields);
+        return filmService.getPopularFilms(count, new PopularFilmsFilter(genreId, year, mpaId), fields);
+    }
+
+    @GetMapping("/{id}/likes")
+    public List<Integer> getFilmLikes(@PathVariable(name = "id") Integer filmId,
+                                      @RequestParam(name = "after", required = false) Integer afterUserId,
+                                      @RequestParam(name = "limit", required = false) Integer limit) {
+        log.info("Получен запрос к эндпоинту: 'GET /films/{}/likes', after = {}, limit = {}", filmId, afterUserId, limit);
+        return filmService.getFilmLikes(filmId, afterUserId, limit);
     }
 
     @PostMapping
     public Film saveFilm(@Valid @RequestBody Film film) {
         log.info("Получен запрос к эндпоинту: 'POST /films', тело запроса: {}", film);
         Film savedFilm = filmService.createFilm(film);
-        log.info("Фильм с id = " + savedFilm.getId() + " сохранен.");
+        log.info("Фильм с id = {} сохранен.", savedFilm.getId());
         return savedFilm;
     }
 
@@ -48,7 +87,7 @@ public class FilmController {
     public Film putFilm(@Valid @RequestBody Film film) {
         log.info("Получен запрос к эндпоинту: 'PUT/films', тело запроса: {}", film);
         Film updatedFilm = filmService.updateFilm(film);
-        log.info("Фильм с id = " + film.getId() + " обновлен.");
+        log.info("Фильм с id = {} обновлен.", film.getId());
         return updatedFilm;
     }
 
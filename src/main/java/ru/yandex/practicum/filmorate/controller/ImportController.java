@@ -0,0 +1,44 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.yandex.practicum.filmorate.model.ImportReport;
+import ru.yandex.practicum.filmorate.service.ImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/import")
+@Slf4j
+@RequiredArgsConstructor
+public class ImportController {
+    private final ImportService importService;
+
+    @PostMapping("/films")
+    public ImportReport importFilms(InputStream body) throws IOException {
+        log.info("Получен запрос к эндпоинту: 'POST /import/films'");
+        return importService.importFilms(body);
+    }
+
+    @PostMapping("/users")
+    public ImportReport importUsers(InputStream body) throws IOException {
+        log.info("Получен запрос к эндпоинту: 'POST /import/users'");
+        return importService.importUsers(body);
+    }
+
+    @PostMapping("/likes")
+    public ImportReport importLikes(InputStream body) throws IOException {
+        log.info("Получен запрос к эндпоинту: 'POST /import/likes'");
+        return importService.importLikes(body);
+    }
+
+    @PostMapping("/friends")
+    public ImportReport importFriendships(InputStream body) throws IOException {
+        log.info("Получен запрос к эндпоинту: 'POST /import/friends'");
+        return importService.importFriendships(body);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.film_storage.CachedFilmStorage;
+import ru.yandex.practicum.filmorate.storage.user_storage.CachedUserStorage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "storagecache")
+@RequiredArgsConstructor
+public class StorageCacheEndpoint {
+    private final CachedFilmStorage cachedFilmStorage;
+    private final CachedUserStorage cachedUserStorage;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> caches() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        caches.put("films", toMap(cachedFilmStorage.getStats(), cachedFilmStorage.getSize()));
+        caches.put("users", toMap(cachedUserStorage.getStats(), cachedUserStorage.getSize()));
+        return caches;
+    }
+
+    private Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", size);
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+}
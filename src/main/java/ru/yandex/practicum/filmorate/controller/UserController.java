@@ -1,10 +1,15 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.util.NdjsonWriter;
 
 import javax.validation.Valid;
 import java.util.Collection;
@@ -16,11 +21,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<User> getUsers() {
-        log.info("Получен запрос к эндпоинту: 'GET /users'");
-        return userService.getUsers();
+    public List<User> getUsers(@RequestParam(name = "afterId", required = false) Integer afterId,
+                               @RequestParam(name = "limit", required = false) Integer limit,
+                               @RequestParam(name = "fields", required = false) String fields) {
+        if (afterId == null && limit == null) {
+            log.info("Получен запрос к эндпоинту: 'GET /users', fields = {}", fields);
+            return userService.getUsers(fields);
+        }
+        log.info("Получен запрос к эндпоинту: 'GET /users', afterId = {}, limit = {}, fields = {}", afterId, limit, fields);
+        return userService.getUsersPage(afterId, limit, fields);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        log.info("Получен запрос к эндпоинту: 'GET /users', формат ответа: {}", MediaType.APPLICATION_NDJSON_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter<User> writer = new NdjsonWriter<>(objectMapper, outputStream);
+            userService.streamUsers(writer);
+            writer.close();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -33,7 +58,7 @@ public class UserController {
     public User saveUser(@Valid @RequestBody User user) {
         log.info("Получен запрос к эндпоинту: 'POST /users', тело запроса: {}", user);
         User savedUser = userService.createUser(user);
-        log.info("Пользователь с id = " + savedUser.getId() + " сохранен.");
+        log.info("Пользователь с id = {} сохранен.", savedUser.getId());
         return savedUser;
     }
 
@@ -41,7 +66,7 @@ public class UserController {
     public User putUsers(@Valid @RequestBody User user) {
         log.info("Получен запрос к эндпоинту: 'PUT /users', тело запроса: {}", user);
         User updatedUser = userService.updateUser(user);
-        log.info("Пользователь с id = " + user.getId() + " обновлен.");
+        log.info("Пользователь с id = {} обновлен.", user.getId());
         return updatedUser;
     }
 
@@ -1,5 +1,7 @@
 package ru.yandex.practicum.filmorate.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import org.hibernate.validator.constraints.Length;
 import ru.yandex.practicum.filmorate.validator.LateDate;
@@ -13,7 +15,8 @@ import java.util.Set;
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @NoArgsConstructor
 @Data
-@Builder
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Film {
     private Integer id;
 
@@ -33,8 +36,12 @@ public class Film {
 
     private MpaRating mpa;
 
+    @ToString.Exclude
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private Set<Integer> usersLikes;
 
+    private Integer likesCount;
+
     public void addLike(Integer userId) {
         usersLikes.add(userId);
     }
@@ -0,0 +1,61 @@
+package ru.yandex.practicum.filmorate.model;
+
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static ru.yandex.practicum.filmorate.util.Constants.UNKNOWN_FIELD_FORMAT;
+
+public enum FilmField {
+    ID("id", "film_id"),
+    NAME("name", "name"),
+    DESCRIPTION("description", "description"),
+    RELEASE_DATE("releaseDate", "releaseDate"),
+    DURATION("duration", "duration"),
+    MPA("mpa", "mpa_rating_id"),
+    GENRES("genres", null),
+    LIKES_COUNT("likesCount", "likes_count");
+
+    private final String jsonName;
+    private final String column;
+
+    FilmField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static Set<FilmField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(FilmField.class);
+        }
+        Set<FilmField> result = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmedName = name.trim();
+            FilmField field = Arrays.stream(values())
+                    .filter(value -> value.jsonName.equals(trimmedName))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException(String.format(UNKNOWN_FIELD_FORMAT, trimmedName)));
+            result.add(field);
+        }
+        return result;
+    }
+
+    public static Film project(Film film, Set<FilmField> fields) {
+        return Film.builder()
+                .id(film.getId())
+                .name(fields.contains(NAME) ? film.getName() : null)
+                .description(fields.contains(DESCRIPTION) ? film.getDescription() : null)
+                .releaseDate(fields.contains(RELEASE_DATE) ? film.getReleaseDate() : null)
+                .duration(fields.contains(DURATION) ? film.getDuration() : null)
+                .mpa(fields.contains(MPA) ? film.getMpa() : null)
+                .genres(fields.contains(GENRES) ? film.getGenres() : null)
+                .likesCount(fields.contains(LIKES_COUNT) ? film.getLikesCount() : null)
+                .build();
+    }
+}
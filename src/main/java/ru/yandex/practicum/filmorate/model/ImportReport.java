@@ -0,0 +1,27 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Data
+public class ImportReport {
+    private long processed;
+    private long imported;
+    private long skipped;
+    private long failed;
+    private List<LineError> errors = new ArrayList<>();
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    public static class LineError {
+        private long fromLine;
+        private long toLine;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PopularFilmsFilter {
+    private Integer genreId;
+
+    private Integer year;
+
+    private Integer mpaId;
+
+    public boolean isEmpty() {
+        return genreId == null && year == null && mpaId == null;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.yandex.practicum.filmorate.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import javax.validation.constraints.Email;
@@ -13,7 +14,8 @@ import java.util.Set;
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @NoArgsConstructor
 @Data
-@Builder
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class User {
     private Integer id;
 
@@ -29,6 +31,7 @@ public class User {
     @PastOrPresent(message = "Дата рождения не может быть в будущем. ")
     private LocalDate birthday;
 
+    @ToString.Exclude
     private Set<Integer> friends;
 
     public void addFriend(Integer userId) {
@@ -0,0 +1,14 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Data
+public class UserDeletedEvent {
+    private Integer userId;
+
+    private List<Integer> likedFilmIds;
+}
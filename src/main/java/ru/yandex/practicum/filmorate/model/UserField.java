@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.model;
+
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static ru.yandex.practicum.filmorate.util.Constants.UNKNOWN_FIELD_FORMAT;
+
+public enum UserField {
+    ID("id", "user_id"),
+    EMAIL("email", "email"),
+    LOGIN("login", "login"),
+    NAME("name", "name"),
+    BIRTHDAY("birthday", "birthday"),
+    FRIENDS("friends", null);
+
+    private final String jsonName;
+    private final String column;
+
+    UserField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(UserField.class);
+        }
+        Set<UserField> result = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmedName = name.trim();
+            UserField field = Arrays.stream(values())
+                    .filter(value -> value.jsonName.equals(trimmedName))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException(String.format(UNKNOWN_FIELD_FORMAT, trimmedName)));
+            result.add(field);
+        }
+        return result;
+    }
+
+    public static User project(User user, Set<UserField> fields) {
+        return User.builder()
+                .id(user.getId())
+                .email(fields.contains(EMAIL) ? user.getEmail() : null)
+                .login(fields.contains(LOGIN) ? user.getLogin() : null)
+                .name(fields.contains(NAME) ? user.getName() : null)
+                .birthday(fields.contains(BIRTHDAY) ? user.getBirthday() : null)
+                .friends(fields.contains(FRIENDS) ? user.getFriends() : null)
+                .build();
+    }
+}
@@ -4,15 +4,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
 import ru.yandex.practicum.filmorate.model.Genre;
 import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
 import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.storage.film_storage.FilmStorage;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import static ru.yandex.practicum.filmorate.util.Constants.*;
 
@@ -35,26 +37,46 @@ public class FilmService {
         Film film = filmStorage.getFilmById(filmId);
 
         if (film == null) {
-            log.warn(String.format(NOT_FOUND_FILM_FORMAT, filmId));
+            log.warn(NOT_FOUND_FILM_LOG, filmId);
             NotFoundException.throwException(NOT_FOUND_FILM_FORMAT, filmId);
         }
 
-        setNameForMpa(film);
-        setNameForGenres(film);
         return film;
     }
 
-    public List<Film> getFilms() {
-        List<Film> films = filmStorage.getAll();
-        setNameForMpa(films);
-        setNameForGenres(films);
-        return films;
+    public List<Film> getFilms(String fields) {
+        if (fields == null) {
+            return filmStorage.getAll();
+        }
+        return filmStorage.getFilmsPage(0, Integer.MAX_VALUE, FilmField.parse(fields));
+    }
+
+    public List<Film> getFilmsPage(Integer afterId, Integer limit, String fields) {
+        int pageLimit = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        checkPageLimit(pageLimit);
+        if (fields == null) {
+            return filmStorage.getFilmsPage(afterId == null ? 0 : afterId, pageLimit);
+        }
+        return filmStorage.getFilmsPage(afterId == null ? 0 : afterId, pageLimit, FilmField.parse(fields));
+    }
+
+    public void streamFilms(Consumer<Film> consumer) {
+        Integer afterId = 0;
+        List<Film> films;
+        do {
+            films = filmStorage.getFilmsPage(afterId, STREAM_PAGE_SIZE);
+            if (films.isEmpty()) {
+                return;
+            }
+            films.forEach(consumer);
+            afterId = films.get(films.size() - 1).getId();
+        } while (films.size() == STREAM_PAGE_SIZE);
     }
 
     public void deleteFilmById(Integer filmId) {
         Film film = filmStorage.getFilmById(filmId);
         if (film == null) {
-            log.warn(String.format(NOT_FOUND_FILM_FORMAT, filmId));
+            log.warn(NOT_FOUND_FILM_LOG, filmId);
             NotFoundException.throwException(NOT_FOUND_FILM_FORMAT, filmId);
         }
         filmStorage.deleteFilmById(filmId);
@@ -63,58 +85,41 @@ public class FilmService {
     public Film updateFilm(Film film) {
         Integer filmId = film.getId();
         if (filmId == null || filmStorage.getFilmById(filmId) == null) {
-            log.warn(String.format(NOT_FOUND_FILM_FORMAT, filmId));
+            log.warn(NOT_FOUND_FILM_LOG, filmId);
             NotFoundException.throwException(NOT_FOUND_FILM_FORMAT, filmId);
         }
         checkFilmsData(film);
         Film updatedFilm = filmStorage.updateFilm(film);
-        setNameForMpa(updatedFilm);
-        setNameForGenres(updatedFilm);
         return updatedFilm;
     }
 
     public void addLike(Integer filmId, Integer userId) {
-        Film film = filmStorage.getFilmById(filmId);
-        User user = userService.getUserById(userId);
-
-        if (film == null) {
-            log.warn(String.format(NOT_FOUND_FILM_FORMAT, filmId));
-            NotFoundException.throwException(NOT_FOUND_FILM_FORMAT, filmId);
+        if (!filmStorage.addLike(filmId, userId)) {
+            checkFilm(filmId);
+            checkUser(userId);
         }
-        if (user == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
-            NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
-        }
-
-        film.addLike(userId);
-        filmStorage.updateFilm(film);
     }
 
     public void removeLike(Integer filmId, Integer userId) {
-        Film film = filmStorage.getFilmById(filmId);
-
-        if (film == null) {
-            log.warn(String.format(NOT_FOUND_FILM_FORMAT, filmId));
-            NotFoundException.throwException(NOT_FOUND_FILM_FORMAT, filmId);
-        }
-        if (film.getUsersLikes() == null || !film.getUsersLikes().contains(userId)) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
+        if (!filmStorage.removeLike(filmId, userId)) {
+            checkFilm(filmId);
+            log.warn(NOT_FOUND_USER_LOG, userId);
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
+    }
 
-        film.removeLike(userId);
-        filmStorage.updateFilm(film);
+    public List<Film> getPopularFilms(Integer count, PopularFilmsFilter filter, String fields) {
+        if (fields == null && filter.isEmpty()) {
+            return filmStorage.getPopularFilms(count);
+        }
+        return filmStorage.getPopularFilms(count, filter, FilmField.parse(fields));
     }
 
-    public List<Film> getPopularFilms(Integer count) {
-        List<Film> films = filmStorage.getAll();
-        List<Film> popular = films.stream()
-                .sorted((f0, f1) -> f1.getUsersLikes().size() - f0.getUsersLikes().size())
-                .limit(count)
-                .collect(Collectors.toList());
-        setNameForMpa(popular);
-        setNameForGenres(popular);
-        return popular;
+    public List<Integer> getFilmLikes(Integer filmId, Integer afterUserId, Integer limit) {
+        int pageLimit = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        checkPageLimit(pageLimit);
+        checkFilm(filmId);
+        return filmStorage.getFilmLikes(filmId, afterUserId == null ? 0 : afterUserId, pageLimit);
     }
 
     private void checkFilmsData(Film film) {
@@ -130,6 +135,20 @@ public class FilmService {
         }
     }
 
+    private void checkPageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException(String.format(INVALID_PAGE_LIMIT_FORMAT, MAX_PAGE_SIZE));
+        }
+    }
+
+    private void checkFilm(Integer filmId) {
+        Film film = filmStorage.getFilmById(filmId);
+        if (film == null) {
+            log.warn(NOT_FOUND_FILM_LOG, filmId);
+            NotFoundException.throwException(NOT_FOUND_FILM_FORMAT, filmId);
+        }
+    }
+
     private void checkGenres(Genre genre) {
         Genre genreFromDb = genreService.getGenreById(genre.getId());
         if (genreFromDb == null) {
@@ -150,41 +169,4 @@ public class FilmService {
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
     }
-
-    private void setNameForGenres(Film film) {
-        setNameForGenres(new ArrayList<>() {{
-                add(film);
-            }
-        });
-    }
-
-    private void setNameForGenres(List<Film> films) {
-        List<Genre> genresWithNames = genreService.getGenres();
-        for (Film film : films) {
-            List<Genre> genresWithoutNames = film.getGenres();
-            film.setGenres(genresWithoutNames.stream()
-                    .map(genresWithNames::indexOf)
-                    .map(genresWithNames::get)
-                    .collect(Collectors.toList()));
-        }
-    }
-
-    private void setNameForMpa(Film film) {
-        setNameForMpa(new ArrayList<>() {{
-                add(film);
-            }
-        });
-    }
-
-    private void setNameForMpa(List<Film> films) {
-        List<MpaRating> mpaRatingsWithNames = mpaService.getMpa();
-
-        for (Film film : films) {
-            if (film.getMpa() != null) {
-                int index = mpaRatingsWithNames.indexOf(film.getMpa());
-                MpaRating mpaWithName = mpaRatingsWithNames.get(index);
-                film.setMpa(mpaWithName);
-            }
-        }
-    }
 }
@@ -20,7 +20,7 @@ public class GenreService {
     public Genre getGenreById(Integer genreId) {
         Genre genre = genreStorage.getGenreById(genreId);
         if (genre == null) {
-            log.warn(String.format(NOT_FOUND_GENRE_FORMAT, genreId));
+            log.warn(NOT_FOUND_GENRE_LOG, genreId);
             NotFoundException.throwException(NOT_FOUND_GENRE_FORMAT, genreId);
         }
         return genre;
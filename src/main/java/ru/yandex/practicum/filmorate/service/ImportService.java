@@ -0,0 +1,219 @@
+package ru.yandex.practicum.filmorate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Friendship;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.ImportReport;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.film_storage.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.user_storage.UserStorage;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import static ru.yandex.practicum.filmorate.util.Constants.*;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImportService {
+    private final FilmStorage filmStorage;
+    private final UserStorage userStorage;
+    private final GenreService genreService;
+    private final MpaService mpaService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${filmorate.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${filmorate.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ImportReport importFilms(InputStream inputStream) throws IOException {
+        Set<Integer> genreIds = genreService.getGenres().stream().map(Genre::getId).collect(Collectors.toSet());
+        Set<Integer> mpaIds = mpaService.getMpa().stream().map(MpaRating::getId).collect(Collectors.toSet());
+
+        return importLines(inputStream, Film.class,
+                film -> {
+                    if (film.getMpa() == null || !mpaIds.contains(film.getMpa().getId())) {
+                        return String.format(NOT_FOUND_MPA_FORMAT, film.getMpa() == null ? null : film.getMpa().getId());
+                    }
+                    if (film.getGenres() != null) {
+                        for (Genre genre : film.getGenres()) {
+                            if (!genreIds.contains(genre.getId())) {
+                                return String.format(NOT_FOUND_GENRE_FORMAT, genre.getId());
+                            }
+                        }
+                    }
+                    return null;
+                },
+                films -> filmStorage.createFilms(films).size());
+    }
+
+    public ImportReport importUsers(InputStream inputStream) throws IOException {
+        BitSet userIds = userStorage.getUserIds();
+
+        return importLines(inputStream, User.class,
+                user -> {
+                    if (user.getFriends() != null) {
+                        for (Integer friendId : user.getFriends()) {
+                            if (!containsId(userIds, friendId)) {
+                                return String.format(NOT_FOUND_USER_FORMAT, friendId);
+                            }
+                        }
+                    }
+                    if (user.getName() == null || user.getName().isBlank()) {
+                        user.setName(user.getLogin());
+                    }
+                    return null;
+                },
+                users -> {
+                    userStorage.createUsers(users).forEach(user -> userIds.set(user.getId()));
+                    return users.size();
+                });
+    }
+
+    public ImportReport importLikes(InputStream inputStream) throws IOException {
+        BitSet filmIds = filmStorage.getFilmIds();
+        BitSet userIds = userStorage.getUserIds();
+
+        return importLines(inputStream, Like.class,
+                like -> {
+                    if (!containsId(filmIds, like.getFilmId())) {
+                        return String.format(NOT_FOUND_FILM_FORMAT, like.getFilmId());
+                    }
+                    if (!containsId(userIds, like.getUserId())) {
+                        return String.format(NOT_FOUND_USER_FORMAT, like.getUserId());
+                    }
+                    return null;
+                },
+                filmStorage::addLikes);
+    }
+
+    public ImportReport importFriendships(InputStream inputStream) throws IOException {
+        BitSet userIds = userStorage.getUserIds();
+
+        return importLines(inputStream, Friendship.class,
+                friendship -> {
+                    if (!containsId(userIds, friendship.getUserId())) {
+                        return String.format(NOT_FOUND_USER_FORMAT, friendship.getUserId());
+                    }
+                    if (!containsId(userIds, friendship.getFriendId())) {
+                        return String.format(NOT_FOUND_USER_FORMAT, friendship.getFriendId());
+                    }
+                    return null;
+                },
+                userStorage::addFriendships);
+    }
+
+    private <T> ImportReport importLines(InputStream inputStream,
+                                         Class<T> type,
+                                         Function<T, String> referenceValidator,
+                                         ToIntFunction<List<T>> chunkWriter) throws IOException {
+        ImportReport report = new ImportReport();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long chunkFirstLine = 0;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setProcessed(report.getProcessed() + 1);
+
+                T item;
+                try {
+                    item = objectMapper.readValue(line, type);
+                } catch (JsonProcessingException e) {
+                    addError(report, lineNumber, lineNumber, 1, "Некорректная строка: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String error = validate(item, referenceValidator);
+                if (error != null) {
+                    addError(report, lineNumber, lineNumber, 1, error);
+                    continue;
+                }
+
+                if (chunk.isEmpty()) {
+                    chunkFirstLine = lineNumber;
+                }
+                chunk.add(item);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(report, chunk, chunkFirstLine, lineNumber, chunkWriter);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(report, chunk, chunkFirstLine, lineNumber, chunkWriter);
+        }
+
+        log.info("Импорт {} завершен: обработано {}, сохранено {}, пропущено {}, ошибок {}.", type.getSimpleName(),
+                report.getProcessed(), report.getImported(), report.getSkipped(), report.getFailed());
+        return report;
+    }
+
+    private <T> String validate(T item, Function<T, String> referenceValidator) {
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return referenceValidator.apply(item);
+    }
+
+    private <T> void writeChunk(ImportReport report,
+                                List<T> chunk,
+                                long fromLine,
+                                long toLine,
+                                ToIntFunction<List<T>> chunkWriter) {
+        try {
+            int imported = chunkWriter.applyAsInt(chunk);
+            report.setImported(report.getImported() + imported);
+            report.setSkipped(report.getSkipped() + chunk.size() - imported);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось сохранить строки {}-{}: {}", fromLine, toLine, e.getMostSpecificCause().getMessage());
+            addError(report, fromLine, toLine, chunk.size(), e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private boolean containsId(BitSet ids, Integer id) {
+        return id != null && id > 0 && ids.get(id);
+    }
+
+    private void addError(ImportReport report, long fromLine, long toLine, int failed, String message) {
+        report.setFailed(report.getFailed() + failed);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportReport.LineError(fromLine, toLine, message));
+        }
+    }
+}
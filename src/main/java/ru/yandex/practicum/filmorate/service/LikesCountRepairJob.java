@@ -0,0 +1,24 @@
+package ru.yandex.practicum.filmorate.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.film_storage.FilmStorage;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LikesCountRepairJob {
+    private final FilmStorage filmStorage;
+
+    @Scheduled(cron = "${filmorate.likes-count-repair.cron:0 0 4 * * *}")
+    public void repairLikesCount() {
+        int repaired = filmStorage.recalculateLikesCount();
+        if (repaired > 0) {
+            log.warn("Счетчик лайков пересчитан для {} фильмов.", repaired);
+        } else {
+            log.info("Счетчики лайков согласованы с таблицей user_likes.");
+        }
+    }
+}
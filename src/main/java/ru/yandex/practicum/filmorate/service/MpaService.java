@@ -20,7 +20,7 @@ public class MpaService {
     public MpaRating getMpaById(Integer mpaId) {
         MpaRating mpaRating = mpaRatingStorage.getMpaRatingById(mpaId);
         if (mpaRating == null) {
-            log.warn(String.format(NOT_FOUND_MPA_FORMAT, mpaId));
+            log.warn(NOT_FOUND_MPA_LOG, mpaId);
             NotFoundException.throwException(NOT_FOUND_MPA_FORMAT, mpaId);
         }
         return mpaRating;
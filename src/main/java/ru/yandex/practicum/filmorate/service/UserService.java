@@ -4,14 +4,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.UserField;
 import ru.yandex.practicum.filmorate.storage.user_storage.UserStorage;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import static ru.yandex.practicum.filmorate.util.Constants.NOT_FOUND_USER_FORMAT;
+import static ru.yandex.practicum.filmorate.util.Constants.*;
 
 @Service
 @Slf4j
@@ -31,14 +35,39 @@ public class UserService {
     public User getUserById(Integer userId) {
         User user = userStorage.getUserById(userId);
         if (user == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
+            log.warn(NOT_FOUND_USER_LOG, userId);
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
         return user;
     }
 
-    public List<User> getUsers() {
-        return userStorage.getAll();
+    public List<User> getUsers(String fields) {
+        if (fields == null) {
+            return userStorage.getAll();
+        }
+        return userStorage.getUsersPage(0, Integer.MAX_VALUE, UserField.parse(fields));
+    }
+
+    public List<User> getUsersPage(Integer afterId, Integer limit, String fields) {
+        int pageLimit = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        checkPageLimit(pageLimit);
+        if (fields == null) {
+            return userStorage.getUsersPage(afterId == null ? 0 : afterId, pageLimit);
+        }
+        return userStorage.getUsersPage(afterId == null ? 0 : afterId, pageLimit, UserField.parse(fields));
+    }
+
+    public void streamUsers(Consumer<User> consumer) {
+        Integer afterId = 0;
+        List<User> users;
+        do {
+            users = userStorage.getUsersPage(afterId, STREAM_PAGE_SIZE);
+            if (users.isEmpty()) {
+                return;
+            }
+            users.forEach(consumer);
+            afterId = users.get(users.size() - 1).getId();
+        } while (users.size() == STREAM_PAGE_SIZE);
     }
 
     public void deleteUserById(Integer userId) {
@@ -52,7 +81,7 @@ public class UserService {
     public User updateUser(User user) {
         Integer userId = user.getId();
         if (userId == null || userStorage.getUserById(userId) == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
+            log.warn(NOT_FOUND_USER_LOG, userId);
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
         checkUserFriends(user);
@@ -60,61 +89,32 @@ public class UserService {
     }
 
     public void addFriend(Integer userId, Integer friendId) {
-        User user = userStorage.getUserById(userId);
-        User friend = userStorage.getUserById(friendId);
-
-        if (user == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
-            NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
-        }
-        if (friend == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, friendId));
-            NotFoundException.throwException(NOT_FOUND_USER_FORMAT, friendId);
+        if (!userStorage.addFriendship(userId, friendId)) {
+            checkUser(userId);
+            checkUser(friendId);
         }
-
-        user.addFriend(friendId);
-        userStorage.updateUser(user);
     }
 
     public void deleteFriend(Integer userId, Integer friendId) {
-        User user = userStorage.getUserById(userId);
-        User friend = userStorage.getUserById(friendId);
-
-        if (user == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
-            NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
+        if (!userStorage.removeFriendship(userId, friendId)) {
+            checkUser(userId);
+            checkUser(friendId);
         }
-        if (friend == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, friendId));
-            NotFoundException.throwException(NOT_FOUND_USER_FORMAT, friendId);
-        }
-
-        user.removeFriend(friendId);
-        friend.removeFriend(userId);
-
-        userStorage.updateUser(user);
-        userStorage.updateUser(friend);
     }
 
     public List<User> getUserFriends(Integer userId) {
         User user = userStorage.getUserById(userId);
 
         if (user == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
+            log.warn(NOT_FOUND_USER_LOG, userId);
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
 
-        final List<User> userFriends = new ArrayList<>();
-
         if (user.getFriends() == null) {
-            return userFriends;
+            return new ArrayList<>();
         }
 
-        user.getFriends().stream()
-                .sorted()
-                .map(userStorage::getUserById)
-                .forEach(userFriends::add);
-        return userFriends;
+        return userStorage.getUsersByIds(user.getFriends());
     }
 
     public List<User> getCommonFriends(Integer userId, Integer otherId) {
@@ -122,40 +122,45 @@ public class UserService {
         User other = userStorage.getUserById(otherId);
 
         if (user == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, userId));
+            log.warn(NOT_FOUND_USER_LOG, userId);
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
         if (other == null) {
-            log.warn(String.format(NOT_FOUND_USER_FORMAT, otherId));
+            log.warn(NOT_FOUND_USER_LOG, otherId);
             NotFoundException.throwException(NOT_FOUND_USER_FORMAT, otherId);
         }
 
-        Set<Integer> userFriends = user.getFriends();
-        Set<Integer> otherFriends = other.getFriends();
+        return userStorage.getCommonFriends(userId, otherId);
+    }
 
-        final List<User> commonFriends = new ArrayList<>();
-        if (userFriends == null || otherFriends == null) {
-            return commonFriends;
+    private void checkUser(Integer userId) {
+        if (userStorage.getUserById(userId) == null) {
+            log.warn(NOT_FOUND_USER_LOG, userId);
+            NotFoundException.throwException(NOT_FOUND_USER_FORMAT, userId);
         }
+    }
 
-        userFriends.stream()
-                .filter(otherFriends::contains)
-                .sorted()
-                .map(userStorage::getUserById)
-                .forEach(commonFriends::add);
-        return commonFriends;
+    private void checkPageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException(String.format(INVALID_PAGE_LIMIT_FORMAT, MAX_PAGE_SIZE));
+        }
     }
 
     private void checkUserFriends(User user) {
         Set<Integer> friends = user.getFriends();
-        if (friends != null) {
-            friends.forEach((friend) -> {
-                User friendFromDb = userStorage.getUserById(friend);
-                if (friendFromDb == null) {
-                    log.warn(String.format(NOT_FOUND_USER_FORMAT, friend));
-                    NotFoundException.throwException(NOT_FOUND_USER_FORMAT, friend);
-                }
-            });
+        if (friends == null || friends.isEmpty()) {
+            return;
         }
+
+        Set<Integer> friendsFromDb = userStorage.getUsersByIds(friends).stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+        friends.stream()
+                .filter(friend -> !friendsFromDb.contains(friend))
+                .findFirst()
+                .ifPresent(friend -> {
+                    log.warn(NOT_FOUND_USER_LOG, friend);
+                    NotFoundException.throwException(NOT_FOUND_USER_FORMAT, friend);
+                });
     }
 }
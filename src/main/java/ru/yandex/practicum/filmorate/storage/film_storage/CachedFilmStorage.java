@@ -0,0 +1,156 @@
+package ru.yandex.practicum.filmorate.storage.film_storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
+import ru.yandex.practicum.filmorate.model.UserDeletedEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Primary
+@Component
+public class CachedFilmStorage implements FilmStorage {
+    private final FilmDbStorage filmDbStorage;
+    private final Cache<Integer, Film> films;
+
+    public CachedFilmStorage(FilmDbStorage filmDbStorage,
+                             @Value("${filmorate.cache.films.maximum-size:10000}") long maximumSize,
+                             @Value("${filmorate.cache.films.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.filmDbStorage = filmDbStorage;
+        this.films = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Film createFilm(Film film) {
+        return filmDbStorage.createFilm(film);
+    }
+
+    @Override
+    public List<Film> createFilms(List<Film> films) {
+        return filmDbStorage.createFilms(films);
+    }
+
+    @Override
+    public BitSet getFilmIds() {
+        return filmDbStorage.getFilmIds();
+    }
+
+    @Override
+    public Film getFilmById(Integer id) {
+        Film film = films.get(id, filmDbStorage::getFilmById);
+        return film == null ? null : copy(film);
+    }
+
+    @Override
+    public List<Film> getAll() {
+        return filmDbStorage.getAll();
+    }
+
+    @Override
+    public List<Film> getFilmsPage(Integer afterId, Integer limit) {
+        return filmDbStorage.getFilmsPage(afterId, limit);
+    }
+
+    @Override
+    public List<Film> getFilmsPage(Integer afterId, Integer limit, Set<FilmField> fields) {
+        return filmDbStorage.getFilmsPage(afterId, limit, fields);
+    }
+
+    @Override
+    public void deleteFilmById(Integer filmId) {
+        filmDbStorage.deleteFilmById(filmId);
+        films.invalidate(filmId);
+    }
+
+    @Override
+    public Film updateFilm(Film film) {
+        Film updatedFilm = filmDbStorage.updateFilm(film);
+        films.invalidate(film.getId());
+        return updatedFilm;
+    }
+
+    @Override
+    public List<Film> getPopularFilms(Integer count) {
+        return filmDbStorage.getPopularFilms(count);
+    }
+
+    @Override
+    public List<Film> getPopularFilms(Integer count, PopularFilmsFilter filter, Set<FilmField> fields) {
+        return filmDbStorage.getPopularFilms(count, filter, fields);
+    }
+
+    @Override
+    public List<Integer> getFilmLikes(Integer filmId, Integer afterUserId, Integer limit) {
+        return filmDbStorage.getFilmLikes(filmId, afterUserId, limit);
+    }
+
+    @Override
+    public boolean addLike(Integer filmId, Integer userId) {
+        boolean added = filmDbStorage.addLike(filmId, userId);
+        if (added) {
+            films.invalidate(filmId);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean removeLike(Integer filmId, Integer userId) {
+        boolean removed = filmDbStorage.removeLike(filmId, userId);
+        if (removed) {
+            films.invalidate(filmId);
+        }
+        return removed;
+    }
+
+    @Override
+    public int addLikes(List<Like> likes) {
+        int added = filmDbStorage.addLikes(likes);
+        films.invalidateAll(likes.stream().map(Like::getFilmId).collect(Collectors.toSet()));
+        return added;
+    }
+
+    @Override
+    public int recalculateLikesCount() {
+        int repaired = filmDbStorage.recalculateLikesCount();
+        if (repaired > 0) {
+            films.invalidateAll();
+        }
+        return repaired;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        films.invalidateAll(event.getLikedFilmIds());
+    }
+
+    public CacheStats getStats() {
+        return films.stats();
+    }
+
+    public long getSize() {
+        return films.estimatedSize();
+    }
+
+    private Film copy(Film film) {
+        return film.toBuilder()
+                .genres(film.getGenres() == null ? null : new ArrayList<>(film.getGenres()))
+                .build();
+    }
+}
@@ -1,61 +1,149 @@
 package ru.yandex.practicum.filmorate.storage.film_storage;
 
 import lombok.AllArgsConstructor;
-import org.springframework.context.annotation.Primary;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
 import ru.yandex.practicum.filmorate.model.Genre;
-import ru.yandex.practicum.filmorate.model.MpaRating;
-import ru.yandex.practicum.filmorate.util.GenresExtractor;
-import ru.yandex.practicum.filmorate.util.LikesExtractor;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
+import ru.yandex.practicum.filmorate.util.FilmsExtractor;
+import ru.yandex.practicum.filmorate.util.IntHashSet;
 
 import java.sql.Date;
 import java.sql.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
-@Primary
 @Component
 @AllArgsConstructor
 public class FilmDbStorage implements FilmStorage {
+    private static final String SQL_SELECT_FILMS = "select f.*, m.name as mpa_name, g.genre_id, g.name as genre_name from ";
+    private static final String SQL_JOIN_FILM_REFERENCES = " as f " +
+            "left join mpa_rating as m on f.mpa_rating_id = m.rating_id " +
+            "left join film_genres as fg on f.film_id = fg.film_id " +
+            "left join genre as g on fg.genre_id = g.genre_id ";
+
+    private static final String SQL_INSERT_FILM = "insert into film(name, description, releaseDate, duration, " +
+            "mpa_rating_id) values(?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_LIKE = "insert into user_likes(film_id, user_id) " +
+            "select f.film_id, u.user_id from film as f, users as u where f.film_id = ? and u.user_id = ? " +
+            "and not exists (select 1 from user_likes where film_id = ? and user_id = ?)";
+    private static final String SQL_INSERT_FILM_GENRE = "insert into film_genres(film_id, genre_id) values (?, ?)";
+
     private final JdbcTemplate jdbcTemplate;
-    private final LikesExtractor likesExtractor;
-    private final GenresExtractor genresExtractor;
+    private final FilmsExtractor filmsExtractor;
 
     @Override
     public Film createFilm(Film film) {
-        String sqlQueryInsertFilm = "insert into film(name, description, releaseDate, duration, mpa_rating_id) " +
-                " values(?, ?, ?, ?, ?)";
-
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sqlQueryInsertFilm, new String[]{"film_id"});
-            stmt.setString(1, film.getName());
-            stmt.setString(2, film.getDescription());
-            stmt.setDate(3, Date.valueOf(film.getReleaseDate()));
-            stmt.setInt(4, film.getDuration());
-            if (film.getMpa() != null) {
-                stmt.setInt(5, film.getMpa().getId());
-            } else {
-                stmt.setInt(5, Types.INTEGER);
-            }
+            PreparedStatement stmt = connection.prepareStatement(SQL_INSERT_FILM, new String[]{"film_id"});
+            setFilmParameters(stmt, film);
             return stmt;
         }, keyHolder);
         film.setId(Objects.requireNonNull(keyHolder.getKey()).intValue());
 
         if (film.getGenres() != null) {
-            List<Integer> genresId = film.getGenres().stream().map(Genre::getId).collect(Collectors.toList());
+            List<Integer> genresId = film.getGenres().stream()
+                    .map(Genre::getId)
+                    .distinct()
+                    .collect(Collectors.toList());
             insertFilmGenres(film.getId(), genresId);
         }
+        film.setLikesCount(0);
 
         return film;
     }
 
+    @Override
+    @Transactional
+    public List<Film> createFilms(List<Film> films) {
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement stmt = connection.prepareStatement(SQL_INSERT_FILM, new String[]{"film_id"})) {
+                for (Film film : films) {
+                    setFilmParameters(stmt, film);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    for (Film film : films) {
+                        keys.next();
+                        film.setId(keys.getInt(1));
+                    }
+                }
+            }
+            return films;
+        });
+
+        List<Object[]> filmGenres = new ArrayList<>();
+        for (Film film : films) {
+            if (film.getGenres() != null) {
+                film.getGenres().stream()
+                        .map(Genre::getId)
+                        .distinct()
+                        .forEach(genreId -> filmGenres.add(new Object[]{film.getId(), genreId}));
+            }
+        }
+        if (!filmGenres.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_INSERT_FILM_GENRE, filmGenres);
+        }
+
+        return films;
+    }
+
+    @Override
+    public BitSet getFilmIds() {
+        BitSet filmIds = new BitSet();
+        jdbcTemplate.query("select film_id from film", rs -> {
+            filmIds.set(rs.getInt("film_id"));
+        });
+        return filmIds;
+    }
+
+    @Override
+    @Transactional
+    public int addLikes(List<Like> likes) {
+        int[][] counts = jdbcTemplate.batchUpdate(SQL_INSERT_LIKE, likes, likes.size(), (stmt, like) -> {
+            stmt.setInt(1, like.getFilmId());
+            stmt.setInt(2, like.getUserId());
+            stmt.setInt(3, like.getFilmId());
+            stmt.setInt(4, like.getUserId());
+        });
+
+        Map<Integer, Integer> addedLikesByFilmId = new HashMap<>();
+        int added = 0;
+        int index = 0;
+        for (int[] batchCounts : counts) {
+            for (int count : batchCounts) {
+                if (count > 0) {
+                    addedLikesByFilmId.merge(likes.get(index).getFilmId(), count, Integer::sum);
+                    added += count;
+                }
+                index++;
+            }
+        }
+
+        List<Object[]> likesCount = addedLikesByFilmId.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .collect(Collectors.toList());
+        if (!likesCount.isEmpty()) {
+            jdbcTemplate.batchUpdate("update film set likes_count = likes_count + ? where film_id = ?", likesCount);
+            jdbcTemplate.batchUpdate("update film_genres set likes_count = likes_count + ? where film_id = ?",
+                    likesCount);
+        }
+
+        return added;
+    }
+
     @Override
     public Film getFilmById(Integer id) {
         try {
@@ -67,13 +155,21 @@ public class FilmDbStorage implements FilmStorage {
 
     @Override
     public List<Film> getAll() {
-        String sqlQuery = "select * from film";
-        List<Film> films = jdbcTemplate.query(sqlQuery, this::mapRowToFilm);
+        String sqlQuery = SQL_SELECT_FILMS + "film" + SQL_JOIN_FILM_REFERENCES + "order by f.film_id, g.genre_id";
+        return jdbcTemplate.query(sqlQuery, filmsExtractor);
+    }
 
-        addGenresToFilms(films);
-        addLikesToFilms(films);
+    @Override
+    public List<Film> getFilmsPage(Integer afterId, Integer limit) {
+        String sqlQuery = SQL_SELECT_FILMS + "(select * from film where film_id > ? order by film_id limit ?)" +
+                SQL_JOIN_FILM_REFERENCES + "order by f.film_id, g.genre_id";
+        return jdbcTemplate.query(sqlQuery, filmsExtractor, afterId, limit);
+    }
 
-        return films;
+    @Override
+    public List<Film> getFilmsPage(Integer afterId, Integer limit, Set<FilmField> fields) {
+        String sqlQuery = selectFilms(fields, "where p.film_id > ? order by p.film_id limit ?", "f.film_id");
+        return jdbcTemplate.query(sqlQuery, new FilmsExtractor(fields), afterId, limit);
     }
 
     @Override
@@ -83,124 +179,174 @@ public class FilmDbStorage implements FilmStorage {
     }
 
     @Override
+    @Transactional
     public Film updateFilm(Film film) {
-        try {
-            updateGenres(film);
-            updateUserLikes(film);
-            updateOnlyFilm(film);
+        updateGenres(film);
+        updateUserLikes(film);
+        updateOnlyFilm(film);
 
-            return findFilmById(film.getId());
-        } catch (DataAccessException e) {
-            return null;
-        }
+        return findFilmById(film.getId());
     }
 
-    private void insertFilmGenres(Integer filmId, List<Integer> genresId) {
-        if (genresId != null && genresId.size() > 0) {
-            String sqlInsertGenres = "insert into film_genres(film_id, genre_id) values";
-            StringBuilder sqlQuery = new StringBuilder(sqlInsertGenres);
-            genresId.forEach(genreId -> sqlQuery.append(String.format("(%d, %d),", filmId, genreId)));
-            sqlQuery.deleteCharAt(sqlQuery.length() - 1);
-
-            jdbcTemplate.update(sqlQuery.toString());
-        }
+    @Override
+    public List<Film> getPopularFilms(Integer count) {
+        String sqlQuery = SQL_SELECT_FILMS + "(select * from film order by likes_count desc, film_id limit ?)" +
+                SQL_JOIN_FILM_REFERENCES + "order by f.likes_count desc, f.film_id, g.genre_id";
+        return jdbcTemplate.query(sqlQuery, filmsExtractor, count);
     }
 
-    private Film findFilmById(Integer id) {
-        String sqlQuery = "select * from film where film_id = ?";
-        Film film = jdbcTemplate.queryForObject(sqlQuery, this::mapRowToFilm, id);
+    @Override
+    public List<Film> getPopularFilms(Integer count, PopularFilmsFilter filter, Set<FilmField> fields) {
+        StringBuilder filmCondition = new StringBuilder();
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String order = "p.likes_count desc, p.film_id";
+
+        if (filter.getGenreId() != null) {
+            filmCondition.append("join film_genres as pg on p.film_id = pg.film_id ");
+            conditions.add("pg.genre_id = ?");
+            params.add(filter.getGenreId());
+            order = "pg.genre_id, pg.likes_count desc, pg.film_id";
+        }
+        if (filter.getYear() != null) {
+            conditions.add("p.release_year = ?");
+            params.add(filter.getYear());
+            if (filter.getGenreId() == null) {
+                order = "p.release_year, p.likes_count desc, p.film_id";
+            }
+        }
+        if (filter.getMpaId() != null) {
+            conditions.add("p.mpa_rating_id = ?");
+            params.add(filter.getMpaId());
+            if (filter.getGenreId() == null && filter.getYear() == null) {
+                order = "p.mpa_rating_id, p.likes_count desc, p.film_id";
+            }
+        }
+        if (!conditions.isEmpty()) {
+            filmCondition.append("where ").append(String.join(" and ", conditions)).append(' ');
+        }
+        filmCondition.append("order by ").append(order).append(" limit ?");
+        params.add(count);
 
-        String sqlQueryGenres = "select genre_id from film_genres where film_id = ?";
-        List<Integer> genresId = jdbcTemplate.queryForList(sqlQueryGenres, Integer.class, id);
+        String sqlQuery = selectFilms(fields, filmCondition.toString(), "f.likes_count desc, f.film_id");
+        return jdbcTemplate.query(sqlQuery, new FilmsExtractor(fields), params.toArray());
+    }
 
-        film.setGenres(genresId.stream()
-                .map((genreId) -> {
-                    Genre genre = new Genre();
-                    genre.setId(genreId);
-                    return genre;
-                })
-                .collect(Collectors.toList())
-        );
+    private String selectFilms(Set<FilmField> fields, String filmCondition, String order) {
+        Set<String> columns = new LinkedHashSet<>();
+        fields.stream().map(FilmField::getColumn).filter(Objects::nonNull).forEach(columns::add);
+        columns.add("likes_count");
 
-        String sqlQueryLikes = "select user_id from user_likes where film_id = ?";
-        List<Integer> userLikes = jdbcTemplate.queryForList(sqlQueryLikes, Integer.class, id);
-        film.setUsersLikes(new HashSet<>(userLikes));
+        StringBuilder sqlQuery = new StringBuilder("select ")
+                .append(columns.stream().map(column -> "f." + column).collect(Collectors.joining(", ")));
+        if (fields.contains(FilmField.MPA)) {
+            sqlQuery.append(", m.name as mpa_name");
+        }
+        if (fields.contains(FilmField.GENRES)) {
+            sqlQuery.append(", g.genre_id, g.name as genre_name");
+        }
+        sqlQuery.append(" from (select ").append(columns.stream().map(column -> "p." + column)
+                        .collect(Collectors.joining(", ")))
+                .append(" from film as p ").append(filmCondition).append(") as f ");
+        if (fields.contains(FilmField.MPA)) {
+            sqlQuery.append("left join mpa_rating as m on f.mpa_rating_id = m.rating_id ");
+        }
+        if (fields.contains(FilmField.GENRES)) {
+            sqlQuery.append("left join film_genres as fg on f.film_id = fg.film_id ")
+                    .append("left join genre as g on fg.genre_id = g.genre_id ");
+            order += ", g.genre_id";
+        }
+        return sqlQuery.append("order by ").append(order).toString();
+    }
 
-        return film;
+    @Override
+    public List<Integer> getFilmLikes(Integer filmId, Integer afterUserId, Integer limit) {
+        String sqlQuery = "select user_id from user_likes where film_id = ? and user_id > ? order by user_id limit ?";
+        return jdbcTemplate.queryForList(sqlQuery, Integer.class, filmId, afterUserId, limit);
     }
 
-    private void addGenresToFilms(List<Film> films) {
-        if (films.size() == 0) {
-            return;
-        }
+    @Override
+    @Transactional
+    public int recalculateLikesCount() {
+        String sqlQuery = "update film as f " +
+                "set likes_count = (select count(*) from user_likes as l where l.film_id = f.film_id) " +
+                "where likes_count <> (select count(*) from user_likes as l where l.film_id = f.film_id)";
+        int repaired = jdbcTemplate.update(sqlQuery);
+
+        String sqlQueryGenres = "update film_genres as fg " +
+                "set likes_count = (select f.likes_count from film as f where f.film_id = fg.film_id) " +
+                "where likes_count <> (select f.likes_count from film as f where f.film_id = fg.film_id)";
+        jdbcTemplate.update(sqlQueryGenres);
+        return repaired;
+    }
 
-        String sqlGenres = "select film_id, genre_id from film_genres where film_id IN (";
-        StringBuilder sqlQueryGenres = new StringBuilder(sqlGenres);
-        for (Film film : films) {
-            sqlQueryGenres.append(film.getId()).append(",");
+    @Override
+    @Transactional
+    public boolean addLike(Integer filmId, Integer userId) {
+        boolean added;
+        try {
+            added = jdbcTemplate.update(SQL_INSERT_LIKE, filmId, userId, filmId, userId) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
         }
-        sqlQueryGenres.deleteCharAt(sqlQueryGenres.length() - 1);
-        sqlQueryGenres.append(")");
-
-        Map<Integer, Set<Integer>> filmsIdAndTheirGenresId = jdbcTemplate.query(sqlQueryGenres.toString(), genresExtractor);
-
-        for (Film film : films) {
-            if (filmsIdAndTheirGenresId.containsKey(film.getId())) {
-                List<Genre> genresWithoutName = filmsIdAndTheirGenresId.get(film.getId())
-                        .stream()
-                        .map((genreId) -> {
-                            Genre genre = new Genre();
-                            genre.setId(genreId);
-                            return genre;
-                        })
-                        .collect(Collectors.toList());
-                film.setGenres(genresWithoutName);
-            } else {
-                film.setGenres(new ArrayList<>());
-            }
+        if (added) {
+            String sqlQueryCount = "update film set likes_count = likes_count + 1 where film_id = ?";
+            jdbcTemplate.update(sqlQueryCount, filmId);
+            String sqlQueryGenresCount = "update film_genres set likes_count = likes_count + 1 where film_id = ?";
+            jdbcTemplate.update(sqlQueryGenresCount, filmId);
         }
+        return added;
     }
 
-    private void addLikesToFilms(List<Film> films) {
-        if (films.size() == 0) {
-            return;
+    @Override
+    @Transactional
+    public boolean removeLike(Integer filmId, Integer userId) {
+        String sqlQuery = "delete from user_likes where film_id = ? and user_id = ?";
+        boolean removed = jdbcTemplate.update(sqlQuery, filmId, userId) > 0;
+        if (removed) {
+            String sqlQueryCount = "update film set likes_count = likes_count - 1 where film_id = ?";
+            jdbcTemplate.update(sqlQueryCount, filmId);
+            String sqlQueryGenresCount = "update film_genres set likes_count = likes_count - 1 where film_id = ?";
+            jdbcTemplate.update(sqlQueryGenresCount, filmId);
         }
+        return removed;
+    }
 
-        String sqlLikes = "select user_id, film_id from user_likes where film_id IN (";
-        StringBuilder sqlQueryLikes = new StringBuilder(sqlLikes);
-        for (Film film : films) {
-            sqlQueryLikes.append(film.getId()).append(",");
+    private void insertFilmGenres(Integer filmId, List<Integer> genresId) {
+        if (genresId != null && genresId.size() > 0) {
+            jdbcTemplate.batchUpdate(SQL_INSERT_FILM_GENRE, genresId, genresId.size(), (stmt, genreId) -> {
+                stmt.setInt(1, filmId);
+                stmt.setInt(2, genreId);
+            });
         }
-        sqlQueryLikes.deleteCharAt(sqlQueryLikes.length() - 1);
-        sqlQueryLikes.append(")");
+    }
 
-        Map<Integer, Set<Integer>> filmsIdAndTheirLikesId = jdbcTemplate.query(sqlQueryLikes.toString(), likesExtractor);
+    private Film findFilmById(Integer id) {
+        String sqlQuery = SQL_SELECT_FILMS + "film" + SQL_JOIN_FILM_REFERENCES +
+                "where f.film_id = ? order by g.genre_id";
+        List<Film> films = jdbcTemplate.query(sqlQuery, filmsExtractor, id);
+        return films.isEmpty() ? null : films.get(0);
+    }
 
-        for (Film film : films) {
-            if (filmsIdAndTheirLikesId.containsKey(film.getId())) {
-                film.setUsersLikes(filmsIdAndTheirLikesId.get(film.getId()));
-            } else {
-                film.setUsersLikes(new HashSet<>());
-            }
-        }
+    private IntHashSet findUserLikes(Integer filmId) {
+        IntHashSet userLikes = new IntHashSet();
+        jdbcTemplate.query("select user_id from user_likes where film_id = ?",
+                rs -> {
+                    userLikes.add(rs.getInt("user_id"));
+                }, filmId);
+        return userLikes;
     }
 
-    private Film mapRowToFilm(ResultSet resultSet, int rowNum) throws SQLException {
-        Integer ratingId = resultSet.getInt("mpa_rating_id");
-        MpaRating rating = new MpaRating();
-        rating.setId(ratingId);
-
-        Integer filmId = resultSet.getInt("film_id");
-
-        Film film = Film.builder()
-                .id(filmId)
-                .name(resultSet.getString("name"))
-                .description(resultSet.getString("description"))
-                .releaseDate(resultSet.getDate("releasedate").toLocalDate())
-                .duration(resultSet.getInt("duration"))
-                .mpa(rating)
-                .build();
-        return film;
+    private void setFilmParameters(PreparedStatement stmt, Film film) throws SQLException {
+        stmt.setString(1, film.getName());
+        stmt.setString(2, film.getDescription());
+        stmt.setDate(3, Date.valueOf(film.getReleaseDate()));
+        stmt.setInt(4, film.getDuration());
+        if (film.getMpa() != null) {
+            stmt.setInt(5, film.getMpa().getId());
+        } else {
+            stmt.setInt(5, Types.INTEGER);
+        }
     }
 
     private void updateGenres(Film film) {
@@ -222,38 +368,50 @@ public class FilmDbStorage implements FilmStorage {
 
         deleteFilmGenres(film.getId(), deleteGenres);
         insertFilmGenres(film.getId(), addGenres);
+        if (!addGenres.isEmpty()) {
+            updateGenresLikesCount(film.getId());
+        }
+    }
+
+    private void updateGenresLikesCount(Integer filmId) {
+        String sqlQuery = "update film_genres set likes_count = (select likes_count from film where film_id = ?) " +
+                "where film_id = ?";
+        jdbcTemplate.update(sqlQuery, filmId, filmId);
     }
 
     private void deleteFilmGenres(Integer filmId, List<Integer> genresId) {
         if (genresId != null && genresId.size() > 0) {
-            String sqlDeleteGenres = "delete from film_genres where film_id = ? and genre_id IN (";
-            StringBuilder sqlQuery = new StringBuilder(sqlDeleteGenres);
-            genresId.forEach(genreId -> sqlQuery.append(String.format("%d,", genreId)));
-            sqlQuery.deleteCharAt(sqlQuery.length() - 1);
-            sqlQuery.append(")");
-
-            jdbcTemplate.update(sqlQuery.toString(), filmId);
+            String sqlQuery = "delete from film_genres where film_id = ? and genre_id = any(?)";
+            jdbcTemplate.update(sqlQuery, filmId, genresId.toArray(new Integer[0]));
         }
     }
 
     private void updateUserLikes(Film film) {
-        Set<Integer> newUserLikes = new HashSet<>();
-        if (film.getUsersLikes() != null) {
-            newUserLikes.addAll(film.getUsersLikes());
+        if (film.getUsersLikes() == null) {
+            return;
         }
+        IntHashSet newUserLikes = new IntHashSet(film.getUsersLikes());
 
-        Set<Integer> oldUserLikes = findFilmById(film.getId()).getUsersLikes();
+        IntHashSet oldUserLikes = findUserLikes(film.getId());
 
-        List<Integer> deleteLikes = oldUserLikes.stream()
+        List<Integer> deleteLikes = Arrays.stream(oldUserLikes.toIntArray())
                 .filter(userId -> !newUserLikes.contains(userId))
+                .boxed()
                 .collect(Collectors.toList());
 
-        List<Integer> addLikes = newUserLikes.stream()
+        List<Integer> addLikes = Arrays.stream(newUserLikes.toIntArray())
                 .filter(userId -> !oldUserLikes.contains(userId))
+                .boxed()
                 .collect(Collectors.toList());
 
         deleteLikes(film.getId(), deleteLikes);
         insertLikes(film.getId(), addLikes);
+
+        if (!deleteLikes.isEmpty() || !addLikes.isEmpty()) {
+            String sqlQueryCount = "update film set likes_count = ? where film_id = ?";
+            jdbcTemplate.update(sqlQueryCount, newUserLikes.size(), film.getId());
+            updateGenresLikesCount(film.getId());
+        }
     }
 
     private void updateOnlyFilm(Film film) {
@@ -277,24 +435,18 @@ public class FilmDbStorage implements FilmStorage {
 
     private void deleteLikes(Integer filmId, List<Integer> userLikes) {
         if (userLikes != null && userLikes.size() > 0) {
-            String sqlDeleteLikes = "delete from user_likes where film_id = ? and user_id IN (";
-            StringBuilder sqlQuery = new StringBuilder(sqlDeleteLikes);
-            userLikes.forEach(userId -> sqlQuery.append(String.format("%d,", userId)));
-            sqlQuery.deleteCharAt(sqlQuery.length() - 1);
-            sqlQuery.append(")");
-
-            jdbcTemplate.update(sqlQuery.toString(), filmId);
+            String sqlQuery = "delete from user_likes where film_id = ? and user_id = any(?)";
+            jdbcTemplate.update(sqlQuery, filmId, userLikes.toArray(new Integer[0]));
         }
     }
 
     private void insertLikes(Integer filmId, List<Integer> userLikes) {
         if (userLikes != null && userLikes.size() > 0) {
-            String sqlInsertLikes = "insert into user_likes(film_id, user_id) values";
-            StringBuilder sqlQuery = new StringBuilder(sqlInsertLikes);
-            userLikes.forEach(userId -> sqlQuery.append(String.format("(%d, %d),", filmId, userId)));
-            sqlQuery.deleteCharAt(sqlQuery.length() - 1);
-
-            jdbcTemplate.update(sqlQuery.toString());
+            String sqlQuery = "insert into user_likes(film_id, user_id) values (?, ?)";
+            jdbcTemplate.batchUpdate(sqlQuery, userLikes, userLikes.size(), (stmt, userId) -> {
+                stmt.setInt(1, filmId);
+                stmt.setInt(2, userId);
+            });
         }
     }
 }
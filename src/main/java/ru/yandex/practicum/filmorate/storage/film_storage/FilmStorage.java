@@ -1,17 +1,44 @@
 package ru.yandex.practicum.filmorate.storage.film_storage;
 
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.Set;
 
 public interface FilmStorage {
     Film createFilm(Film film);
 
+    List<Film> createFilms(List<Film> films);
+
+    BitSet getFilmIds();
+
     Film getFilmById(Integer id);
 
     List<Film> getAll();
 
+    List<Film> getFilmsPage(Integer afterId, Integer limit);
+
+    List<Film> getFilmsPage(Integer afterId, Integer limit, Set<FilmField> fields);
+
     void deleteFilmById(Integer filmId);
 
     Film updateFilm(Film film);
+
+    List<Film> getPopularFilms(Integer count);
+
+    List<Film> getPopularFilms(Integer count, PopularFilmsFilter filter, Set<FilmField> fields);
+
+    List<Integer> getFilmLikes(Integer filmId, Integer afterUserId, Integer limit);
+
+    boolean addLike(Integer filmId, Integer userId);
+
+    boolean removeLike(Integer filmId, Integer userId);
+
+    int addLikes(List<Like> likes);
+
+    int recalculateLikesCount();
 }
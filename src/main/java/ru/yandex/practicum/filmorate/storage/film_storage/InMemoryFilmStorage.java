@@ -2,25 +2,53 @@ package ru.yandex.practicum.filmorate.storage.film_storage;
 
 import org.springframework.stereotype.Component;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
+import ru.yandex.practicum.filmorate.util.IntHashSet;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Component
 public class InMemoryFilmStorage implements FilmStorage {
-    private Map<Integer, Film> films = new HashMap<>();
+    private NavigableMap<Integer, Film> films = new TreeMap<>();
     private Integer nextId = 1;
+    private final PopularityIndex popularityIndex = new PopularityIndex();
+    private final Map<Integer, PopularityIndex> genrePopularityIndexes = new HashMap<>();
+    private final Map<Integer, PopularityIndex> yearPopularityIndexes = new HashMap<>();
 
     @Override
     public Film createFilm(Film film) {
         final int id = generateId();
         film.setId(id);
+        film.setLikesCount(countLikes(film));
         films.put(id, film);
+        addToPopularityIndexes(film);
         return film;
     }
 
+    @Override
+    public List<Film> createFilms(List<Film> films) {
+        films.forEach(this::createFilm);
+        return films;
+    }
+
+    @Override
+    public BitSet getFilmIds() {
+        BitSet filmIds = new BitSet();
+        films.keySet().forEach(filmIds::set);
+        return filmIds;
+    }
+
     @Override
     public Film getFilmById(Integer filmId) {
         return films.get(filmId);
@@ -31,17 +59,176 @@ public class InMemoryFilmStorage implements FilmStorage {
         return new ArrayList<>(films.values());
     }
 
+    @Override
+    public List<Film> getFilmsPage(Integer afterId, Integer limit) {
+        return films.tailMap(afterId, false).values().stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Film> getFilmsPage(Integer afterId, Integer limit, Set<FilmField> fields) {
+        return getFilmsPage(afterId, limit).stream()
+                .map(film -> FilmField.project(film, fields))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void deleteFilmById(Integer filmId) {
-        films.remove(filmId);
+        Film film = films.remove(filmId);
+        if (film != null) {
+            removeFromPopularityIndexes(film);
+        }
     }
 
     @Override
     public Film updateFilm(Film film) {
+        Film oldFilm = films.get(film.getId());
+        if (oldFilm != null) {
+            if (film.getUsersLikes() == null) {
+                film.setUsersLikes(oldFilm.getUsersLikes());
+            }
+            removeFromPopularityIndexes(oldFilm);
+        }
+        film.setLikesCount(countLikes(film));
         films.put(film.getId(), film);
+        addToPopularityIndexes(film);
         return film;
     }
 
+    @Override
+    public List<Film> getPopularFilms(Integer count) {
+        return popularityIndex.getTop(count).stream()
+                .map(films::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Film> getPopularFilms(Integer count, PopularFilmsFilter filter, Set<FilmField> fields) {
+        PopularityIndex index = popularityIndex;
+        if (filter.getGenreId() != null) {
+            index = genrePopularityIndexes.get(filter.getGenreId());
+        } else if (filter.getYear() != null) {
+            index = yearPopularityIndexes.get(filter.getYear());
+        }
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        return index.getTop(count, filmId -> matches(films.get(filmId), filter)).stream()
+                .map(films::get)
+                .map(film -> FilmField.project(film, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean addLike(Integer filmId, Integer userId) {
+        Film film = films.get(filmId);
+        if (film == null) {
+            return false;
+        }
+        if (film.getUsersLikes() == null) {
+            film.setUsersLikes(new IntHashSet());
+        }
+        boolean added = film.getUsersLikes().add(userId);
+        if (added) {
+            film.setLikesCount(countLikes(film));
+            addToPopularityIndexes(film);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean removeLike(Integer filmId, Integer userId) {
+        Film film = films.get(filmId);
+        if (film == null || film.getUsersLikes() == null) {
+            return false;
+        }
+        boolean removed = film.getUsersLikes().remove(userId);
+        if (removed) {
+            film.setLikesCount(countLikes(film));
+            addToPopularityIndexes(film);
+        }
+        return removed;
+    }
+
+    @Override
+    public int addLikes(List<Like> likes) {
+        int added = 0;
+        for (Like like : likes) {
+            if (addLike(like.getFilmId(), like.getUserId())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public int recalculateLikesCount() {
+        return 0;
+    }
+
+    @Override
+    public List<Integer> getFilmLikes(Integer filmId, Integer afterUserId, Integer limit) {
+        Film film = films.get(filmId);
+        if (film == null || film.getUsersLikes() == null) {
+            return new ArrayList<>();
+        }
+        return film.getUsersLikes().stream()
+                .filter(userId -> userId > afterUserId)
+                .sorted()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private void addToPopularityIndexes(Film film) {
+        popularityIndex.put(film.getId(), film.getLikesCount());
+        if (film.getGenres() != null) {
+            film.getGenres().forEach(genre -> genrePopularityIndexes
+                    .computeIfAbsent(genre.getId(), genreId -> new PopularityIndex())
+                    .put(film.getId(), film.getLikesCount()));
+        }
+        if (film.getReleaseDate() != null) {
+            yearPopularityIndexes.computeIfAbsent(film.getReleaseDate().getYear(), year -> new PopularityIndex())
+                    .put(film.getId(), film.getLikesCount());
+        }
+    }
+
+    private void removeFromPopularityIndexes(Film film) {
+        popularityIndex.remove(film.getId());
+        if (film.getGenres() != null) {
+            film.getGenres().forEach(genre -> removeFromIndex(genrePopularityIndexes, genre.getId(), film.getId()));
+        }
+        if (film.getReleaseDate() != null) {
+            removeFromIndex(yearPopularityIndexes, film.getReleaseDate().getYear(), film.getId());
+        }
+    }
+
+    private void removeFromIndex(Map<Integer, PopularityIndex> indexes, Integer key, Integer filmId) {
+        PopularityIndex index = indexes.get(key);
+        if (index != null) {
+            index.remove(filmId);
+            if (index.isEmpty()) {
+                indexes.remove(key);
+            }
+        }
+    }
+
+    private boolean matches(Film film, PopularFilmsFilter filter) {
+        if (filter.getGenreId() != null && (film.getGenres() == null || film.getGenres().stream()
+                .map(Genre::getId)
+                .noneMatch(filter.getGenreId()::equals))) {
+            return false;
+        }
+        if (filter.getYear() != null && film.getReleaseDate().getYear() != filter.getYear()) {
+            return false;
+        }
+        return filter.getMpaId() == null || film.getMpa() != null && filter.getMpaId().equals(film.getMpa().getId());
+    }
+
+    private int countLikes(Film film) {
+        return film.getUsersLikes() == null ? 0 : film.getUsersLikes().size();
+    }
+
     private Integer generateId() {
         return nextId++;
     }
@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.storage.film_storage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Счетчики лайков по фильмам и упорядоченное по убыванию популярности множество фильмов.
+ * При равном количестве лайков фильмы упорядочены по id.
+ */
+public class PopularityIndex {
+    private static final Comparator<Entry> POPULARITY_ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.likes).reversed()
+            .thenComparingInt(entry -> entry.filmId);
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final NavigableSet<Entry> ranking = new TreeSet<>(POPULARITY_ORDER);
+
+    public synchronized void put(Integer filmId, int likes) {
+        Entry old = entries.get(filmId);
+        if (old != null) {
+            ranking.remove(old);
+        }
+        Entry entry = new Entry(filmId, likes);
+        entries.put(filmId, entry);
+        ranking.add(entry);
+    }
+
+    public synchronized void remove(Integer filmId) {
+        Entry old = entries.remove(filmId);
+        if (old != null) {
+            ranking.remove(old);
+        }
+    }
+
+    public List<Integer> getTop(int count) {
+        return getTop(count, filmId -> true);
+    }
+
+    public synchronized List<Integer> getTop(int count, IntPredicate filter) {
+        List<Integer> top = new ArrayList<>(Math.min(count, ranking.size()));
+        for (Entry entry : ranking) {
+            if (top.size() >= count) {
+                break;
+            }
+            if (filter.test(entry.filmId)) {
+                top.add(entry.filmId);
+            }
+        }
+        return top;
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private static class Entry {
+        private final int filmId;
+        private final int likes;
+
+        private Entry(int filmId, int likes) {
+            this.filmId = filmId;
+            this.likes = likes;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.yandex.practicum.filmorate.storage.genre_storage;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Genre;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Primary
+@Component
+public class CachedGenreStorage implements GenreStorage {
+    private final GenreDbStorage genreDbStorage;
+    private volatile List<Genre> genres = Collections.emptyList();
+    private volatile Map<Integer, Genre> genresById = Collections.emptyMap();
+
+    public CachedGenreStorage(GenreDbStorage genreDbStorage) {
+        this.genreDbStorage = genreDbStorage;
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        List<Genre> loadedGenres = genreDbStorage.getAll();
+        Map<Integer, Genre> loadedGenresById = new HashMap<>();
+        loadedGenres.forEach(genre -> loadedGenresById.put(genre.getId(), genre));
+
+        genres = Collections.unmodifiableList(loadedGenres);
+        genresById = Collections.unmodifiableMap(loadedGenresById);
+    }
+
+    @Override
+    public Genre createGenre(Genre genre) {
+        Genre createdGenre = genreDbStorage.createGenre(genre);
+        reload();
+        return createdGenre;
+    }
+
+    @Override
+    public Genre getGenreById(Integer id) {
+        return genresById.get(id);
+    }
+
+    @Override
+    public List<Genre> getAll() {
+        return new ArrayList<>(genres);
+    }
+
+    @Override
+    public List<Genre> getGenresByFilmId(Integer filmId) {
+        return genreDbStorage.getGenresByFilmId(filmId);
+    }
+
+    @Override
+    public void deleteGenreById(Integer genreId) {
+        genreDbStorage.deleteGenreById(genreId);
+        reload();
+    }
+
+    @Override
+    public Genre updateGenre(Genre genre) {
+        Genre updatedGenre = genreDbStorage.updateGenre(genre);
+        reload();
+        return updatedGenre;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.yandex.practicum.filmorate.storage.mpa_storage;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Primary
+@Component
+public class CachedMpaRatingStorage implements MpaRatingStorage {
+    private final MpaRatingDbStorage mpaRatingDbStorage;
+    private volatile List<MpaRating> mpaRatings = Collections.emptyList();
+    private volatile Map<Integer, MpaRating> mpaRatingsById = Collections.emptyMap();
+
+    public CachedMpaRatingStorage(MpaRatingDbStorage mpaRatingDbStorage) {
+        this.mpaRatingDbStorage = mpaRatingDbStorage;
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        List<MpaRating> loadedMpaRatings = mpaRatingDbStorage.getAll();
+        Map<Integer, MpaRating> loadedMpaRatingsById = new HashMap<>();
+        loadedMpaRatings.forEach(mpaRating -> loadedMpaRatingsById.put(mpaRating.getId(), mpaRating));
+
+        mpaRatings = Collections.unmodifiableList(loadedMpaRatings);
+        mpaRatingsById = Collections.unmodifiableMap(loadedMpaRatingsById);
+    }
+
+    @Override
+    public MpaRating createMpaRating(MpaRating mpaRating) {
+        MpaRating createdMpaRating = mpaRatingDbStorage.createMpaRating(mpaRating);
+        reload();
+        return createdMpaRating;
+    }
+
+    @Override
+    public MpaRating getMpaRatingById(Integer id) {
+        return mpaRatingsById.get(id);
+    }
+
+    @Override
+    public List<MpaRating> getAll() {
+        return new ArrayList<>(mpaRatings);
+    }
+
+    @Override
+    public void deleteMpaRatingById(Integer mpaRatingId) {
+        mpaRatingDbStorage.deleteMpaRatingById(mpaRatingId);
+        reload();
+    }
+
+    @Override
+    public MpaRating updateMpaRating(MpaRating mpaRating) {
+        MpaRating updatedMpaRating = mpaRatingDbStorage.updateMpaRating(mpaRating);
+        reload();
+        return updatedMpaRating;
+    }
+}
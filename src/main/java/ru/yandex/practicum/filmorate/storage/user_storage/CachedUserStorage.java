@@ -0,0 +1,182 @@
+package ru.yandex.practicum.filmorate.storage.user_storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Friendship;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.UserField;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Primary
+@Component
+public class CachedUserStorage implements UserStorage {
+    private final UserDbStorage userDbStorage;
+    private final Cache<Integer, User> users;
+    private final FriendGraph friendGraph = new FriendGraph();
+
+    public CachedUserStorage(UserDbStorage userDbStorage,
+                             @Value("${filmorate.cache.users.maximum-size:50000}") long maximumSize,
+                             @Value("${filmorate.cache.users.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userDbStorage = userDbStorage;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void loadFriendGraph() {
+        userDbStorage.loadFriendGraph(friendGraph);
+    }
+
+    @Override
+    public User createUser(User user) {
+        User createdUser = userDbStorage.createUser(user);
+        friendGraph.setFriends(createdUser.getId(), createdUser.getFriends());
+        return createdUser;
+    }
+
+    @Override
+    public List<User> createUsers(List<User> users) {
+        List<User> createdUsers = userDbStorage.createUsers(users);
+        createdUsers.forEach(user -> friendGraph.setFriends(user.getId(), user.getFriends()));
+        return createdUsers;
+    }
+
+    @Override
+    public BitSet getUserIds() {
+        return userDbStorage.getUserIds();
+    }
+
+    @Override
+    public User getUserById(Integer id) {
+        User user = users.get(id, userDbStorage::getUserById);
+        return user == null ? null : copy(user);
+    }
+
+    @Override
+    public List<User> getAll() {
+        return userDbStorage.getAll();
+    }
+
+    @Override
+    public List<User> getUsersPage(Integer afterId, Integer limit) {
+        return userDbStorage.getUsersPage(afterId, limit);
+    }
+
+    @Override
+    public List<User> getUsersPage(Integer afterId, Integer limit, Set<UserField> fields) {
+        return userDbStorage.getUsersPage(afterId, limit, fields);
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<Integer> ids) {
+        Set<Integer> sortedIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        Map<Integer, User> foundUsers = users.getAll(sortedIds, this::loadUsers);
+
+        List<User> result = new ArrayList<>(foundUsers.size());
+        for (Integer id : sortedIds) {
+            User user = foundUsers.get(id);
+            if (user != null) {
+                result.add(copy(user));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> getCommonFriends(Integer userId, Integer otherId) {
+        int[] commonFriends = friendGraph.getCommonFriends(userId, otherId);
+        if (commonFriends.length == 0) {
+            return new ArrayList<>();
+        }
+        return getUsersByIds(Arrays.stream(commonFriends).boxed().collect(Collectors.toList()));
+    }
+
+    @Override
+    public void deleteUserById(Integer userId) {
+        userDbStorage.deleteUserById(userId);
+        users.invalidate(userId);
+        friendGraph.removeUser(userId);
+    }
+
+    @Override
+    public User updateUser(User user) {
+        User updatedUser = userDbStorage.updateUser(user);
+        users.invalidate(user.getId());
+        if (updatedUser != null) {
+            friendGraph.setFriends(updatedUser.getId(), updatedUser.getFriends());
+        }
+        return updatedUser;
+    }
+
+    @Override
+    public boolean addFriendship(Integer userId, Integer friendId) {
+        boolean added = userDbStorage.addFriendship(userId, friendId);
+        if (added) {
+            users.invalidate(userId);
+            friendGraph.add(userId, friendId);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean removeFriendship(Integer userId, Integer friendId) {
+        boolean removed = userDbStorage.removeFriendship(userId, friendId);
+        if (removed) {
+            users.invalidateAll(List.of(userId, friendId));
+            friendGraph.remove(userId, friendId);
+            friendGraph.remove(friendId, userId);
+        }
+        return removed;
+    }
+
+    @Override
+    public int addFriendships(List<Friendship> friendships) {
+        int added = userDbStorage.addFriendships(friendships);
+        friendships.forEach(friendship -> {
+            users.invalidate(friendship.getUserId());
+            friendGraph.add(friendship.getUserId(), friendship.getFriendId());
+        });
+        return added;
+    }
+
+    public CacheStats getStats() {
+        return users.stats();
+    }
+
+    public long getSize() {
+        return users.estimatedSize();
+    }
+
+    private Map<Integer, User> loadUsers(Iterable<? extends Integer> ids) {
+        List<Integer> missingIds = new ArrayList<>();
+        ids.forEach(missingIds::add);
+        return userDbStorage.getUsersByIds(missingIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+    }
+
+    private User copy(User user) {
+        return user.toBuilder()
+                .friends(user.getFriends() == null ? null : new HashSet<>(user.getFriends()))
+                .build();
+    }
+}
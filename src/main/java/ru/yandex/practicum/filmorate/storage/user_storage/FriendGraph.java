@@ -0,0 +1,140 @@
+package ru.yandex.practicum.filmorate.storage.user_storage;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Граф дружбы на примитивных массивах: для каждого пользователя хранится отсортированный массив id друзей.
+ * Массивы не изменяются после публикации, любая запись заменяет строку пользователя целиком. Записи идут под
+ * монитором, чтение обходится без блокировок и видит последнюю опубликованную строку.
+ */
+public class FriendGraph {
+    private static final int[] EMPTY = new int[0];
+
+    private volatile AtomicReferenceArray<int[]> rows = new AtomicReferenceArray<>(0);
+    private volatile long edges;
+
+    public synchronized void rebuild(int[] userIds, int[] friendIds, int size) {
+        int maxUserId = 0;
+        for (int i = 0; i < size; i++) {
+            maxUserId = Math.max(maxUserId, userIds[i]);
+        }
+        AtomicReferenceArray<int[]> newRows = new AtomicReferenceArray<>(maxUserId + 1);
+
+        int start = 0;
+        while (start < size) {
+            int end = start;
+            while (end < size && userIds[end] == userIds[start]) {
+                end++;
+            }
+            int[] row = Arrays.copyOfRange(friendIds, start, end);
+            Arrays.sort(row);
+            newRows.set(userIds[start], row);
+            start = end;
+        }
+
+        rows = newRows;
+        edges = size;
+    }
+
+    public synchronized boolean add(int userId, int friendId) {
+        int[] row = row(userId);
+        int index = Arrays.binarySearch(row, friendId);
+        if (index >= 0) {
+            return false;
+        }
+        int insertion = -index - 1;
+        int[] newRow = new int[row.length + 1];
+        System.arraycopy(row, 0, newRow, 0, insertion);
+        newRow[insertion] = friendId;
+        System.arraycopy(row, insertion, newRow, insertion + 1, row.length - insertion);
+        setRow(userId, newRow);
+        edges++;
+        return true;
+    }
+
+    public synchronized boolean remove(int userId, int friendId) {
+        int[] row = row(userId);
+        int index = Arrays.binarySearch(row, friendId);
+        if (index < 0) {
+            return false;
+        }
+        int[] newRow = new int[row.length - 1];
+        System.arraycopy(row, 0, newRow, 0, index);
+        System.arraycopy(row, index + 1, newRow, index, row.length - index - 1);
+        setRow(userId, newRow);
+        edges--;
+        return true;
+    }
+
+    public synchronized void setFriends(int userId, Collection<Integer> friendIds) {
+        int[] newRow = friendIds == null ? EMPTY : friendIds.stream()
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        edges += newRow.length - row(userId).length;
+        setRow(userId, newRow);
+    }
+
+    public synchronized void removeUser(int userId) {
+        edges -= row(userId).length;
+        setRow(userId, null);
+    }
+
+    public int[] getFriends(int userId) {
+        return row(userId).clone();
+    }
+
+    public int[] getCommonFriends(int userId, int otherId) {
+        int[] first = row(userId);
+        int[] second = row(otherId);
+        int[] common = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                common[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(common, count);
+    }
+
+    public long getEdgeCount() {
+        return edges;
+    }
+
+    private int[] row(int userId) {
+        AtomicReferenceArray<int[]> current = rows;
+        if (userId < 0 || userId >= current.length()) {
+            return EMPTY;
+        }
+        int[] row = current.get(userId);
+        return row == null ? EMPTY : row;
+    }
+
+    private void setRow(int userId, int[] row) {
+        AtomicReferenceArray<int[]> current = rows;
+        if (userId >= current.length()) {
+            if (row == null) {
+                return;
+            }
+            AtomicReferenceArray<int[]> grown = new AtomicReferenceArray<>(Math.max(userId + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            grown.set(userId, row);
+            rows = grown;
+            return;
+        }
+        current.set(userId, row);
+    }
+}
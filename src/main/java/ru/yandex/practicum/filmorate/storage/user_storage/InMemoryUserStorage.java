@@ -1,16 +1,24 @@
 package ru.yandex.practicum.filmorate.storage.user_storage;
 
 import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Friendship;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.UserField;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Component
 public class InMemoryUserStorage implements UserStorage {
-    private Map<Integer, User> users = new HashMap<>();
+    private NavigableMap<Integer, User> users = new TreeMap<>();
     private Integer nextId = 1;
 
     @Override
@@ -21,6 +29,19 @@ public class InMemoryUserStorage implements UserStorage {
         return user;
     }
 
+    @Override
+    public List<User> createUsers(List<User> users) {
+        users.forEach(this::createUser);
+        return users;
+    }
+
+    @Override
+    public BitSet getUserIds() {
+        BitSet userIds = new BitSet();
+        users.keySet().forEach(userIds::set);
+        return userIds;
+    }
+
     @Override
     public User getUserById(Integer userId) {
         return users.get(userId);
@@ -31,6 +52,42 @@ public class InMemoryUserStorage implements UserStorage {
         return new ArrayList<>(users.values());
     }
 
+    @Override
+    public List<User> getUsersPage(Integer afterId, Integer limit) {
+        return users.tailMap(afterId, false).values().stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> getUsersPage(Integer afterId, Integer limit, Set<UserField> fields) {
+        return getUsersPage(afterId, limit).stream()
+                .map(user -> UserField.project(user, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<Integer> ids) {
+        return ids.stream()
+                .distinct()
+                .sorted()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> getCommonFriends(Integer userId, Integer otherId) {
+        User user = users.get(userId);
+        User other = users.get(otherId);
+        if (user == null || other == null || user.getFriends() == null || other.getFriends() == null) {
+            return new ArrayList<>();
+        }
+        return getUsersByIds(user.getFriends().stream()
+                .filter(other.getFriends()::contains)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public void deleteUserById(Integer userId) {
         users.remove(userId);
@@ -42,6 +99,41 @@ public class InMemoryUserStorage implements UserStorage {
         return user;
     }
 
+    @Override
+    public boolean addFriendship(Integer userId, Integer friendId) {
+        User user = users.get(userId);
+        if (user == null || !users.containsKey(friendId)) {
+            return false;
+        }
+        if (user.getFriends() == null) {
+            user.setFriends(new HashSet<>());
+        }
+        return user.getFriends().add(friendId);
+    }
+
+    @Override
+    public boolean removeFriendship(Integer userId, Integer friendId) {
+        User user = users.get(userId);
+        User friend = users.get(friendId);
+        if (user == null || friend == null) {
+            return false;
+        }
+        boolean removed = user.getFriends() != null && user.getFriends().remove(friendId);
+        boolean removedBack = friend.getFriends() != null && friend.getFriends().remove(userId);
+        return removed || removedBack;
+    }
+
+    @Override
+    public int addFriendships(List<Friendship> friendships) {
+        int added = 0;
+        for (Friendship friendship : friendships) {
+            if (addFriendship(friendship.getUserId(), friendship.getFriendId())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
     private Integer generateId() {
         return nextId++;
     }
@@ -1,15 +1,21 @@
 package ru.yandex.practicum.filmorate.storage.user_storage;
 
 import lombok.AllArgsConstructor;
-import org.springframework.context.annotation.Primary;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.filmorate.model.Friendship;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.UserDeletedEvent;
+import ru.yandex.practicum.filmorate.model.UserField;
 import ru.yandex.practicum.filmorate.util.FriendsExtractor;
 
+import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -17,25 +23,26 @@ import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
 
-@Primary
 @Component
 @AllArgsConstructor
 public class UserDbStorage implements UserStorage {
+    private static final String SQL_INSERT_USER = "insert into users(name, login, email, birthday) values(?, ?, ?, ?)";
+    private static final String SQL_INSERT_FRIENDSHIP = "insert into friends(user_id, friend_id) " +
+            "select u.user_id, f.user_id from users as u, users as f where u.user_id = ? and f.user_id = ? " +
+            "and not exists (select 1 from friends where user_id = ? and friend_id = ?)";
+    private static final String SQL_INSERT_FRIEND = "insert into friends(user_id, friend_id) values (?, ?)";
+
     private final JdbcTemplate jdbcTemplate;
     private final FriendsExtractor friendsExtractor;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public User createUser(User user) {
-        String sqlQueryInsertUser = "insert into users(name, login, email, birthday) values(?, ?, ?, ?)";
-
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sqlQueryInsertUser, new String[]{"user_id"});
-            stmt.setString(1, user.getName());
-            stmt.setString(2, user.getLogin());
-            stmt.setString(3, user.getEmail());
-            stmt.setDate(4, Date.valueOf(user.getBirthday()));
+            PreparedStatement stmt = connection.prepareStatement(SQL_INSERT_USER, new String[]{"user_id"});
+            setUserParameters(stmt, user);
             return stmt;
         }, keyHolder);
 
@@ -48,6 +55,86 @@ public class UserDbStorage implements UserStorage {
         return user;
     }
 
+    @Override
+    @Transactional
+    public List<User> createUsers(List<User> users) {
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement stmt = connection.prepareStatement(SQL_INSERT_USER, new String[]{"user_id"})) {
+                for (User user : users) {
+                    setUserParameters(stmt, user);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    for (User user : users) {
+                        keys.next();
+                        user.setId(keys.getInt(1));
+                    }
+                }
+            }
+            return users;
+        });
+
+        List<Object[]> friends = new ArrayList<>();
+        for (User user : users) {
+            if (user.getFriends() != null) {
+                user.getFriends().forEach(friendId -> friends.add(new Object[]{user.getId(), friendId}));
+            }
+        }
+        if (!friends.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_INSERT_FRIEND, friends);
+        }
+
+        return users;
+    }
+
+    @Override
+    public BitSet getUserIds() {
+        BitSet userIds = new BitSet();
+        jdbcTemplate.query("select user_id from users", rs -> {
+            userIds.set(rs.getInt("user_id"));
+        });
+        return userIds;
+    }
+
+    public void loadFriendGraph(FriendGraph friendGraph) {
+        int[][] edges = new int[][]{new int[1024], new int[1024]};
+        int[] size = new int[]{0};
+
+        jdbcTemplate.query("select user_id, friend_id from friends order by user_id", rs -> {
+            if (size[0] == edges[0].length) {
+                edges[0] = Arrays.copyOf(edges[0], size[0] * 2);
+                edges[1] = Arrays.copyOf(edges[1], size[0] * 2);
+            }
+            edges[0][size[0]] = rs.getInt("user_id");
+            edges[1][size[0]] = rs.getInt("friend_id");
+            size[0]++;
+        });
+
+        friendGraph.rebuild(edges[0], edges[1], size[0]);
+    }
+
+    @Override
+    @Transactional
+    public int addFriendships(List<Friendship> friendships) {
+        int[][] counts = jdbcTemplate.batchUpdate(SQL_INSERT_FRIENDSHIP, friendships, friendships.size(),
+                (stmt, friendship) -> {
+                    stmt.setInt(1, friendship.getUserId());
+                    stmt.setInt(2, friendship.getFriendId());
+                    stmt.setInt(3, friendship.getUserId());
+                    stmt.setInt(4, friendship.getFriendId());
+                });
+
+        int added = 0;
+        for (int[] batchCounts : counts) {
+            for (int count : batchCounts) {
+                added += Math.max(count, 0);
+            }
+        }
+        return added;
+    }
+
     @Override
     public User getUserById(Integer id) {
         try {
@@ -66,28 +153,83 @@ public class UserDbStorage implements UserStorage {
 
     @Override
     public List<User> getAll() {
-        String sqlQuery = "select * from users";
+        String sqlQuery = "select * from users order by user_id";
         List<User> users = jdbcTemplate.query(sqlQuery, this::rowMapToUser);
         addFriendsToUser(users);
         return users;
     }
 
+    @Override
+    public List<User> getUsersPage(Integer afterId, Integer limit) {
+        String sqlQuery = "select * from users where user_id > ? order by user_id limit ?";
+        List<User> users = jdbcTemplate.query(sqlQuery, this::rowMapToUser, afterId, limit);
+        addFriendsToUser(users);
+        return users;
+    }
+
+    @Override
+    public List<User> getUsersPage(Integer afterId, Integer limit, Set<UserField> fields) {
+        String columns = fields.stream()
+                .map(UserField::getColumn)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(", "));
+        String sqlQuery = "select " + columns + " from users where user_id > ? order by user_id limit ?";
+        List<User> users = jdbcTemplate.query(sqlQuery, (rs, rowNum) -> rowMapToUser(rs, fields), afterId, limit);
+        if (fields.contains(UserField.FRIENDS)) {
+            addFriendsToUser(users);
+        }
+        return users;
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String sqlQuery = "select * from users where user_id = any(?) order by user_id";
+        List<User> users = jdbcTemplate.query(sqlQuery, this::rowMapToUser, (Object) ids.toArray(new Integer[0]));
+        addFriendsToUsersByIds(users);
+        return users;
+    }
+
+    @Override
+    public List<User> getCommonFriends(Integer userId, Integer otherId) {
+        String sqlQuery = "select u.* from users as u " +
+                "join friends as uf on u.user_id = uf.friend_id " +
+                "join friends as otf on u.user_id = otf.friend_id " +
+                "where uf.user_id = ? and otf.user_id = ? order by u.user_id";
+        List<User> users = jdbcTemplate.query(sqlQuery, this::rowMapToUser, userId, otherId);
+        addFriendsToUsersByIds(users);
+        return users;
+    }
+
     private void addFriendsToUser(List<User> users) {
         if (users.size() == 0) {
             return;
         }
 
-        String sqlFriends = "select user_id, friend_id from friends where user_id IN (";
-        StringBuilder sqlQueryFriends = new StringBuilder(sqlFriends);
-        for (User user : users) {
-            sqlQueryFriends.append(user.getId()).append(",");
+        String sqlQueryFriends = "select user_id, friend_id from friends where user_id between ? and ?";
+        Map<Integer, Set<Integer>> usersIdAndTheirFriendsId = jdbcTemplate.query(sqlQueryFriends, friendsExtractor,
+                users.get(0).getId(), users.get(users.size() - 1).getId());
+
+        setFriendsToUsers(users, usersIdAndTheirFriendsId);
+    }
+
+    private void addFriendsToUsersByIds(List<User> users) {
+        if (users.size() == 0) {
+            return;
         }
-        sqlQueryFriends.deleteCharAt(sqlQueryFriends.length() - 1);
-        sqlQueryFriends.append(")");
 
-        Map<Integer, Set<Integer>> usersIdAndTheirFriendsId = jdbcTemplate.query(sqlQueryFriends.toString(),
-                friendsExtractor);
+        Integer[] usersId = users.stream().map(User::getId).toArray(Integer[]::new);
+        String sqlQueryFriends = "select user_id, friend_id from friends where user_id = any(?)";
+        Map<Integer, Set<Integer>> usersIdAndTheirFriendsId = jdbcTemplate.query(sqlQueryFriends, friendsExtractor,
+                (Object) usersId);
+
+        setFriendsToUsers(users, usersIdAndTheirFriendsId);
+    }
 
+    private void setFriendsToUsers(List<User> users, Map<Integer, Set<Integer>> usersIdAndTheirFriendsId) {
         for (User user : users) {
             if (usersIdAndTheirFriendsId.containsKey(user.getId())) {
                 user.setFriends(usersIdAndTheirFriendsId.get(user.getId()));
@@ -98,9 +240,22 @@ public class UserDbStorage implements UserStorage {
     }
 
     @Override
+    @Transactional
     public void deleteUserById(Integer userId) {
+        String sqlQueryLikedFilms = "select film_id from user_likes where user_id = ?";
+        List<Integer> likedFilmIds = jdbcTemplate.queryForList(sqlQueryLikedFilms, Integer.class, userId);
+        if (!likedFilmIds.isEmpty()) {
+            Integer[] filmIds = likedFilmIds.toArray(new Integer[0]);
+            String sqlQueryCount = "update film set likes_count = likes_count - 1 where film_id = any(?)";
+            jdbcTemplate.update(sqlQueryCount, (Object) filmIds);
+            String sqlQueryGenresCount = "update film_genres set likes_count = likes_count - 1 " +
+                    "where film_id = any(?)";
+            jdbcTemplate.update(sqlQueryGenresCount, (Object) filmIds);
+        }
+
         String sqlQuery = "delete from users where user_id = ?";
         jdbcTemplate.update(sqlQuery, userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, likedFilmIds));
     }
 
     @Override
@@ -121,13 +276,26 @@ public class UserDbStorage implements UserStorage {
         }
     }
 
-    private void insertFriends(Integer userId, Set<Integer> friendsId) {
-        String sqlInsertFriends = "insert into friends(user_id, friend_id) values";
-        StringBuilder sqlQuery = new StringBuilder(sqlInsertFriends);
-        friendsId.forEach(friendId -> sqlQuery.append(String.format("(%d, %d),"), userId, friendId));
-        sqlQuery.deleteCharAt(sqlQuery.length() - 1);
+    @Override
+    public boolean addFriendship(Integer userId, Integer friendId) {
+        try {
+            return jdbcTemplate.update(SQL_INSERT_FRIENDSHIP, userId, friendId, userId, friendId) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeFriendship(Integer userId, Integer friendId) {
+        String sqlQuery = "delete from friends where (user_id = ? and friend_id = ?) or (user_id = ? and friend_id = ?)";
+        return jdbcTemplate.update(sqlQuery, userId, friendId, friendId, userId) > 0;
+    }
 
-        jdbcTemplate.update(sqlQuery.toString());
+    private void setUserParameters(PreparedStatement stmt, User user) throws SQLException {
+        stmt.setString(1, user.getName());
+        stmt.setString(2, user.getLogin());
+        stmt.setString(3, user.getEmail());
+        stmt.setDate(4, Date.valueOf(user.getBirthday()));
     }
 
     private User rowMapToUser(ResultSet resultSet, int rowNum) throws SQLException {
@@ -141,6 +309,23 @@ public class UserDbStorage implements UserStorage {
         return user;
     }
 
+    private User rowMapToUser(ResultSet resultSet, Set<UserField> fields) throws SQLException {
+        User.UserBuilder builder = User.builder().id(resultSet.getInt("user_id"));
+        if (fields.contains(UserField.EMAIL)) {
+            builder.email(resultSet.getString("email"));
+        }
+        if (fields.contains(UserField.LOGIN)) {
+            builder.login(resultSet.getString("login"));
+        }
+        if (fields.contains(UserField.NAME)) {
+            builder.name(resultSet.getString("name"));
+        }
+        if (fields.contains(UserField.BIRTHDAY)) {
+            builder.birthday(resultSet.getDate("birthday").toLocalDate());
+        }
+        return builder.build();
+    }
+
     private void updateFriends(User user) {
         String sqlQueryFriends = "select friend_id from friends where user_id = ?";
         List<Integer> oldFriends = jdbcTemplate.queryForList(sqlQueryFriends, Integer.class, user.getId());
@@ -164,24 +349,17 @@ public class UserDbStorage implements UserStorage {
 
     private void deleteFriends(Integer userId, List<Integer> friendsId) {
         if (friendsId != null && friendsId.size() > 0) {
-            String sqlDeleteFriends = "delete from friends where user_id = ? and friend_id IN (";
-            StringBuilder sqlQuery = new StringBuilder(sqlDeleteFriends);
-            friendsId.forEach(friendId -> sqlQuery.append(String.format("%d,", friendId)));
-            sqlQuery.deleteCharAt(sqlQuery.length() - 1);
-            sqlQuery.append(")");
-
-            jdbcTemplate.update(sqlQuery.toString(), userId);
+            String sqlQuery = "delete from friends where user_id = ? and friend_id = any(?)";
+            jdbcTemplate.update(sqlQuery, userId, friendsId.toArray(new Integer[0]));
         }
     }
 
-    private void insertFriends(Integer userId, List<Integer> friendsId) {
+    private void insertFriends(Integer userId, Collection<Integer> friendsId) {
         if (friendsId != null && friendsId.size() > 0) {
-            String sqlInsertFriends = "insert into friends(user_id, friend_id) values";
-            StringBuilder sqlQuery = new StringBuilder(sqlInsertFriends);
-            friendsId.forEach(friendId -> sqlQuery.append(String.format("(%d, %d),", userId, friendId)));
-            sqlQuery.deleteCharAt(sqlQuery.length() - 1);
-
-            jdbcTemplate.update(sqlQuery.toString());
+            jdbcTemplate.batchUpdate(SQL_INSERT_FRIEND, friendsId, friendsId.size(), (stmt, friendId) -> {
+                stmt.setInt(1, userId);
+                stmt.setInt(2, friendId);
+            });
         }
     }
 }
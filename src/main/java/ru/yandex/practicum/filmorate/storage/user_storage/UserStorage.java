@@ -1,17 +1,40 @@
 package ru.yandex.practicum.filmorate.storage.user_storage;
 
+import ru.yandex.practicum.filmorate.model.Friendship;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.UserField;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface UserStorage {
     User createUser(User user);
 
+    List<User> createUsers(List<User> users);
+
+    BitSet getUserIds();
+
     User getUserById(Integer id);
 
     List<User> getAll();
 
+    List<User> getUsersPage(Integer afterId, Integer limit);
+
+    List<User> getUsersPage(Integer afterId, Integer limit, Set<UserField> fields);
+
+    List<User> getUsersByIds(Collection<Integer> ids);
+
+    List<User> getCommonFriends(Integer userId, Integer otherId);
+
     void deleteUserById(Integer userId);
 
     User updateUser(User user);
+
+    boolean addFriendship(Integer userId, Integer friendId);
+
+    boolean removeFriendship(Integer userId, Integer friendId);
+
+    int addFriendships(List<Friendship> friendships);
 }
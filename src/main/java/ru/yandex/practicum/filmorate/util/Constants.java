@@ -5,4 +5,13 @@ public class Constants {
     public static final String NOT_FOUND_FILM_FORMAT = "Фильм с id = %d не найден.";
     public static final String NOT_FOUND_GENRE_FORMAT = "Жанр с id = %d не найден.";
     public static final String NOT_FOUND_MPA_FORMAT = "MPA рейтинг с id = %d не найден.";
+    public static final String NOT_FOUND_USER_LOG = "Пользователь с id = {} не найден.";
+    public static final String NOT_FOUND_FILM_LOG = "Фильм с id = {} не найден.";
+    public static final String NOT_FOUND_GENRE_LOG = "Жанр с id = {} не найден.";
+    public static final String NOT_FOUND_MPA_LOG = "MPA рейтинг с id = {} не найден.";
+    public static final String INVALID_PAGE_LIMIT_FORMAT = "Размер страницы должен быть от 1 до %d.";
+    public static final String UNKNOWN_FIELD_FORMAT = "Неизвестное поле: %s.";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int STREAM_PAGE_SIZE = 500;
 }
@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.util;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class FilmsExtractor implements ResultSetExtractor<List<Film>> {
+    private final Set<FilmField> fields;
+
+    public FilmsExtractor() {
+        this(EnumSet.allOf(FilmField.class));
+    }
+
+    public FilmsExtractor(Set<FilmField> fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public List<Film> extractData(ResultSet rs) throws SQLException, DataAccessException {
+        Map<Integer, Film> films = new LinkedHashMap<>();
+        while (rs.next()) {
+            Integer filmId = rs.getInt("film_id");
+            Film film = films.get(filmId);
+            if (film == null) {
+                film = mapFilm(rs, filmId);
+                films.put(filmId, film);
+            }
+
+            if (fields.contains(FilmField.GENRES)) {
+                int genreId = rs.getInt("genre_id");
+                if (!rs.wasNull()) {
+                    film.getGenres().add(new Genre(genreId, rs.getString("genre_name")));
+                }
+            }
+        }
+        return new ArrayList<>(films.values());
+    }
+
+    private Film mapFilm(ResultSet rs, Integer filmId) throws SQLException {
+        Film.FilmBuilder builder = Film.builder().id(filmId);
+        if (fields.contains(FilmField.NAME)) {
+            builder.name(rs.getString("name"));
+        }
+        if (fields.contains(FilmField.DESCRIPTION)) {
+            builder.description(rs.getString("description"));
+        }
+        if (fields.contains(FilmField.RELEASE_DATE)) {
+            builder.releaseDate(rs.getDate("releasedate").toLocalDate());
+        }
+        if (fields.contains(FilmField.DURATION)) {
+            builder.duration(rs.getInt("duration"));
+        }
+        if (fields.contains(FilmField.MPA)) {
+            builder.mpa(new MpaRating(rs.getInt("mpa_rating_id"), rs.getString("mpa_name")));
+        }
+        if (fields.contains(FilmField.GENRES)) {
+            builder.genres(new ArrayList<>());
+        }
+        if (fields.contains(FilmField.LIKES_COUNT)) {
+            builder.likesCount(rs.getInt("likes_count"));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,216 @@
+package ru.yandex.practicum.filmorate.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Множество целых чисел на открытой адресации без упаковки элементов в Integer.
+ * Элементы упаковываются только при обходе через интерфейс Set, например при сериализации в JSON.
+ */
+public class IntHashSet extends AbstractSet<Integer> {
+    private static final int FREE = 0;
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private boolean containsFree;
+    private int size;
+    private int modCount;
+
+    public IntHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public IntHashSet(int expectedSize) {
+        keys = new int[capacityFor(expectedSize)];
+    }
+
+    public IntHashSet(Collection<Integer> values) {
+        this(values.size());
+        addAll(values);
+    }
+
+    public boolean add(int value) {
+        if (value == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            size++;
+            modCount++;
+            return true;
+        }
+
+        int index = indexOf(value);
+        if (keys[index] == value) {
+            return false;
+        }
+        keys[index] = value;
+        size++;
+        modCount++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == FREE) {
+            return containsFree;
+        }
+        return keys[indexOf(value)] == value;
+    }
+
+    public boolean remove(int value) {
+        if (value == FREE) {
+            if (!containsFree) {
+                return false;
+            }
+            containsFree = false;
+            size--;
+            modCount++;
+            return true;
+        }
+
+        int index = indexOf(value);
+        if (keys[index] != value) {
+            return false;
+        }
+        keys[index] = FREE;
+        shiftKeysBack(index);
+        size--;
+        modCount++;
+        return true;
+    }
+
+    public int[] toIntArray() {
+        int[] values = new int[size];
+        int count = 0;
+        if (containsFree) {
+            values[count++] = FREE;
+        }
+        for (int key : keys) {
+            if (key != FREE) {
+                values[count++] = key;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        return add(value.intValue());
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value instanceof Integer && contains(((Integer) value).intValue());
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return value instanceof Integer && remove(((Integer) value).intValue());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        containsFree = false;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private final int[] values = toIntArray();
+            private int expectedModCount = modCount;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public Integer next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return values[next++];
+            }
+
+            @Override
+            public void remove() {
+                if (next == 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                IntHashSet.this.remove(values[next - 1]);
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    private int indexOf(int value) {
+        int mask = keys.length - 1;
+        int index = mix(value) & mask;
+        while (keys[index] != FREE && keys[index] != value) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void shiftKeysBack(int freeIndex) {
+        int mask = keys.length - 1;
+        int index = (freeIndex + 1) & mask;
+        while (keys[index] != FREE) {
+            int home = mix(keys[index]) & mask;
+            boolean canMove = freeIndex <= index
+                    ? home <= freeIndex || home > index
+                    : home <= freeIndex && home > index;
+            if (canMove) {
+                keys[freeIndex] = keys[index];
+                keys[index] = FREE;
+                freeIndex = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        keys = new int[capacity];
+        for (int key : oldKeys) {
+            if (key != FREE) {
+                keys[indexOf(key)] = key;
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,2 +0,0 @@
-INSERT INTO MPA_RATING(NAME) VALUES('G'), ('PG'), ('PG-13'), ('R'), ('NC-17');
-INSERT INTO GENRE(NAME) VALUES('Комедия'),('Драма'),('Мультфильм'),('Триллер'),('Документальный'),('Боевик');
\ No newline at end of file
@@ -0,0 +1,42 @@
+DELETE FROM film_genres WHERE film_id IS NULL OR genre_id IS NULL;
+DELETE FROM friends WHERE user_id IS NULL OR friend_id IS NULL;
+DELETE FROM user_likes WHERE film_id IS NULL OR user_id IS NULL;
+
+CREATE TABLE film_genres_distinct AS SELECT DISTINCT film_id, genre_id FROM film_genres;
+DELETE FROM film_genres;
+INSERT INTO film_genres(film_id, genre_id) SELECT film_id, genre_id FROM film_genres_distinct;
+DROP TABLE film_genres_distinct;
+
+CREATE TABLE friends_distinct AS SELECT DISTINCT user_id, friend_id FROM friends;
+DELETE FROM friends;
+INSERT INTO friends(user_id, friend_id) SELECT user_id, friend_id FROM friends_distinct;
+DROP TABLE friends_distinct;
+
+CREATE TABLE user_likes_distinct AS SELECT DISTINCT film_id, user_id FROM user_likes;
+DELETE FROM user_likes;
+INSERT INTO user_likes(film_id, user_id) SELECT film_id, user_id FROM user_likes_distinct;
+DROP TABLE user_likes_distinct;
+
+ALTER TABLE film_genres ALTER COLUMN film_id SET NOT NULL;
+ALTER TABLE film_genres ALTER COLUMN genre_id SET NOT NULL;
+ALTER TABLE film_genres ADD PRIMARY KEY (film_id, genre_id);
+
+ALTER TABLE friends ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE friends ALTER COLUMN friend_id SET NOT NULL;
+ALTER TABLE friends ADD PRIMARY KEY (user_id, friend_id);
+
+ALTER TABLE user_likes ALTER COLUMN film_id SET NOT NULL;
+ALTER TABLE user_likes ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE user_likes ADD PRIMARY KEY (film_id, user_id);
+
+ALTER TABLE film ADD COLUMN likes_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE film AS f SET likes_count = (SELECT COUNT(*) FROM user_likes AS l WHERE l.film_id = f.film_id);
+
+CREATE INDEX film_likes_count_idx ON film (likes_count DESC, film_id);
+
+CREATE INDEX film_genres_genre_idx ON film_genres (genre_id, film_id);
+
+CREATE INDEX friends_friend_idx ON friends (friend_id, user_id);
+
+CREATE INDEX user_likes_user_idx ON user_likes (user_id, film_id);
@@ -1,11 +1,3 @@
-DROP TABLE IF EXISTS USER_LIKES;
-DROP TABLE IF EXISTS FRIENDS;
-DROP TABLE IF EXISTS users;
-DROP TABLE IF EXISTS film_genres;
-DROP TABLE IF EXISTS FILM;
-DROP TABLE IF EXISTS GENRE;
-DROP TABLE IF EXISTS MPA_RATING;
-
 CREATE TABLE IF NOT EXISTS genre (
     genre_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name varchar(50) NOT NULL
@@ -0,0 +1,7 @@
+INSERT INTO mpa_rating(name)
+SELECT v.name FROM (VALUES ('G'), ('PG'), ('PG-13'), ('R'), ('NC-17')) AS v(name)
+WHERE NOT EXISTS (SELECT 1 FROM mpa_rating AS m WHERE m.name = v.name);
+
+INSERT INTO genre(name)
+SELECT v.name FROM (VALUES ('Комедия'), ('Драма'), ('Мультфильм'), ('Триллер'), ('Документальный'), ('Боевик')) AS v(name)
+WHERE NOT EXISTS (SELECT 1 FROM genre AS g WHERE g.name = v.name);
@@ -0,0 +1,13 @@
+ALTER TABLE film ADD COLUMN IF NOT EXISTS release_year INTEGER GENERATED ALWAYS AS (EXTRACT(YEAR FROM releaseDate));
+
+ALTER TABLE film_genres ADD COLUMN IF NOT EXISTS likes_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE film_genres AS fg SET likes_count = (SELECT f.likes_count FROM film AS f WHERE f.film_id = fg.film_id);
+
+DROP INDEX IF EXISTS film_genres_genre_idx;
+
+CREATE INDEX IF NOT EXISTS film_genres_popularity_idx ON film_genres (genre_id, likes_count DESC, film_id);
+
+CREATE INDEX IF NOT EXISTS film_year_popularity_idx ON film (release_year, likes_count DESC, film_id);
+
+CREATE INDEX IF NOT EXISTS film_mpa_popularity_idx ON film (mpa_rating_id, likes_count DESC, film_id);
@@ -0,0 +1,33 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class DataSourceConfigTest {
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void testPoolIsSizedByCoresAndMetered() {
+        assertEquals(Runtime.getRuntime().availableProcessors() * 2 + 1, dataSource.getMaximumPoolSize(),
+                "размер пула не соответствует количеству ядер");
+        assertEquals("filmorate", dataSource.getPoolName());
+        assertEquals(500, jdbcTemplate.getFetchSize());
+
+        jdbcTemplate.queryForObject("select count(*) from film", Integer.class);
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "filmorate").timer(),
+                "нет метрики ожидания соединения");
+    }
+}
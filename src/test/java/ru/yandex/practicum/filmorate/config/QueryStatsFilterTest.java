@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.yandex.practicum.filmorate.config.QueryStatsFilter.QUERY_COUNT_HEADER;
+import static ru.yandex.practicum.filmorate.config.QueryStatsFilter.QUERY_TIME_HEADER;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "filmorate.jdbc.query-budget=5")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryStatsFilterTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void getUserFriendsDoesNotDependOnFriendsCount() {
+        for (int i = 1; i <= 4; i++) {
+            User user = new User();
+            user.setEmail(i + "user@email.ru");
+            user.setLogin("login" + i);
+            user.setName("name" + i);
+            user.setBirthday(LocalDate.of(1990, 1, i));
+            restTemplate.postForObject("/users", user, User.class);
+        }
+        restTemplate.put("/users/1/friends/2", null);
+
+        ResponseEntity<User[]> oneFriend = restTemplate.getForEntity("/users/1/friends", User[].class);
+        assertEquals(HttpStatus.OK, oneFriend.getStatusCode());
+        assertNotNull(oneFriend.getHeaders().getFirst(QUERY_TIME_HEADER), "Нет заголовка с временем запросов");
+
+        restTemplate.put("/users/1/friends/3", null);
+        restTemplate.put("/users/1/friends/4", null);
+        ResponseEntity<User[]> threeFriends = restTemplate.getForEntity("/users/1/friends", User[].class);
+        assertEquals(3, threeFriends.getBody().length);
+        assertEquals(queryCount(oneFriend), queryCount(threeFriends),
+                "Число запросов не должно зависеть от числа друзей");
+    }
+
+    @Test
+    void createFilmWithGenresFitsQueryBudget() {
+        Film film = Film.builder()
+                .name("name")
+                .description("description")
+                .releaseDate(LocalDate.of(1990, 1, 1))
+                .duration(100)
+                .mpa(new MpaRating(1, "G"))
+                .genres(List.of(new Genre(1, null), new Genre(2, null), new Genre(3, null),
+                        new Genre(4, null), new Genre(5, null), new Genre(6, null)))
+                .build();
+        ResponseEntity<Film> response = restTemplate.postForEntity("/films", film, Film.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(queryCount(response) <= 5, "Превышен лимит запросов при создании фильма");
+    }
+
+    private int queryCount(ResponseEntity<?> response) {
+        List<String> values = response.getHeaders().get(QUERY_COUNT_HEADER);
+        assertNotNull(values, "Нет заголовка с числом запросов");
+        return Integer.parseInt(values.get(0));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMetrics
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class StorageMetricsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void storageCallsAreTimedAndCountedPerRequest() {
+        restTemplate.getForObject("/films", String.class);
+        restTemplate.getForEntity("/films/99", String.class);
+
+        Timer dbCalls = meterRegistry.find("filmorate.storage.calls")
+                .tags("storage", "FilmDbStorage", "method", "getAll", "outcome", "success")
+                .timer();
+        assertNotNull(dbCalls, "нет таймера вызовов хранилища");
+        assertEquals(1, dbCalls.count());
+
+        DistributionSummary callsPerRequest = meterRegistry.find("filmorate.storage.calls.per.request")
+                .tags("method", "GET", "uri", "/films")
+                .summary();
+        assertNotNull(callsPerRequest, "нет счетчика вызовов хранилищ на запрос");
+        assertEquals(1, callsPerRequest.count());
+        assertEquals(1, callsPerRequest.totalAmount(), "вызов кэша и базы данных за ним считается одним вызовом");
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        assertTrue(scrape.getBody().contains("filmorate_storage_calls_seconds_count"));
+        assertTrue(scrape.getBody().contains("http_server_requests_seconds_count"));
+    }
+}
@@ -8,21 +8,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.util.LocalDateAdapter;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -57,7 +60,7 @@ class FilmControllerTest {
                     1 + ordinal[0] * 2));
             film.setMpa(new MpaRating(1, "G"));
             film.setGenres(new ArrayList<>());
-            film.setUsersLikes(new HashSet<>());
+            film.setLikesCount(0);
             ordinal[0]++;
         });
     }
@@ -79,6 +82,62 @@ class FilmControllerTest {
         assertEquals(expected, response, "Списки фильмов не совпадают.");
     }
 
+    @Test
+    void getFilmsPage() {
+        restTemplate.postForEntity(url, film1, Film.class);
+        restTemplate.postForEntity(url, film2, Film.class);
+        restTemplate.postForEntity(url, film3, Film.class);
+
+        film2.setId(2);
+        film3.setId(3);
+        String expected = gson.toJson(List.of(film2, film3));
+
+        String response = this.restTemplate.getForObject(url + "?afterId=1&limit=2", String.class);
+        assertEquals(expected, response, "Списки фильмов не совпадают.");
+
+        response = this.restTemplate.getForObject(url + "?afterId=3&limit=2", String.class);
+        assertEquals("[]", response, "Страница после последнего фильма должна быть пустой.");
+
+        ResponseEntity<String> invalid = this.restTemplate.getForEntity(url + "?limit=0", String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+    }
+
+    @Test
+    void getFilmsWithFields() {
+        restTemplate.postForEntity(url, film1, Film.class);
+        restTemplate.postForEntity(url, film2, Film.class);
+
+        assertEquals("[{\"id\":1,\"name\":\"name1\"},{\"id\":2,\"name\":\"name2\"}]",
+                restTemplate.getForObject(url + "?fields=name", String.class), "Поля фильмов не совпадают.");
+        assertEquals("[{\"id\":2,\"mpa\":{\"id\":1,\"name\":\"G\"},\"likesCount\":0}]",
+                restTemplate.getForObject(url + "?afterId=1&limit=1&fields=mpa,likesCount", String.class),
+                "Поля фильмов не совпадают.");
+        assertEquals("[{\"id\":1,\"genres\":[]}]",
+                restTemplate.getForObject(url + "/popular?count=1&fields=genres", String.class),
+                "Поля популярных фильмов не совпадают.");
+
+        ResponseEntity<String> invalid = restTemplate.getForEntity(url + "?fields=name,usersLikes", String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+    }
+
+    @Test
+    void streamFilms() {
+        restTemplate.postForEntity(url, film1, Film.class);
+        restTemplate.postForEntity(url, film2, Film.class);
+
+        film1.setId(1);
+        film2.setId(2);
+        String expected = gson.toJson(film1) + "\n" + gson.toJson(film2);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(expected, response.getBody(), "Потоковый ответ не совпадает.");
+    }
 
     @Test
     void saveFilm() {
@@ -119,6 +178,36 @@ class FilmControllerTest {
         assertEquals(expected, receivedFilm.getBody(), "Списки фильмов не совпадают.");
     }
 
+    @Test
+    void getFilmLikes() {
+        restTemplate.postForEntity(url, film1, Film.class);
+        for (int i = 1; i <= 3; i++) {
+            User user = User.builder()
+                    .email(i + "user@email.ru")
+                    .login("login" + i)
+                    .birthday(LocalDate.of(1990, 1, i))
+                    .build();
+            restTemplate.postForEntity("/users", user, User.class);
+            restTemplate.put(url + "/1/like/" + i, null);
+        }
+
+        String film = restTemplate.getForObject(url + "/1", String.class);
+        assertTrue(film.contains("\"likesCount\":3"), "Количество лайков не совпадает.");
+        assertFalse(film.contains("usersLikes"), "Список лайков не должен возвращаться.");
+
+        assertEquals("[1,2]", restTemplate.getForObject(url + "/1/likes?limit=2", String.class));
+        assertEquals("[3]", restTemplate.getForObject(url + "/1/likes?after=2&limit=2", String.class));
+
+        Film updatedFilm = restTemplate.getForObject(url + "/1", Film.class);
+        updatedFilm.setName("newName");
+        restTemplate.put(url, updatedFilm);
+        assertEquals(3, restTemplate.getForObject(url + "/1", Film.class).getLikesCount(),
+                "Обновление фильма без списка лайков не должно их удалять.");
+
+        ResponseEntity<String> notFound = restTemplate.getForEntity(url + "/99/likes", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+    }
+
     @Test
     void shouldReturnStatus500WhenEmptyName() {
         film1.setName("");
@@ -0,0 +1,83 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.ImportReport;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ImportControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private final String url = "/import";
+
+    @Test
+    void importFilmsUsersLikesAndFriends() {
+        ImportReport films = post("/films",
+                "{\"name\":\"name1\",\"description\":\"d1\",\"releaseDate\":\"1990-01-01\",\"duration\":100," +
+                        "\"mpa\":{\"id\":1},\"genres\":[{\"id\":1},{\"id\":2}]}\n" +
+                        "{\"name\":\"name2\",\"description\":\"d2\",\"releaseDate\":\"1991-01-01\",\"duration\":90," +
+                        "\"mpa\":{\"id\":2}}\n" +
+                        "\n" +
+                        "{\"name\":\"name3\",\"description\":\"d3\",\"releaseDate\":\"1992-01-01\",\"duration\":90," +
+                        "\"mpa\":{\"id\":99}}\n" +
+                        "{not json}\n");
+        assertEquals(4, films.getProcessed());
+        assertEquals(2, films.getImported());
+        assertEquals(2, films.getFailed());
+        assertEquals(List.of(4L, 5L), films.getErrors().stream()
+                .map(ImportReport.LineError::getFromLine)
+                .collect(Collectors.toList()));
+
+        ImportReport users = post("/users",
+                "{\"email\":\"1user@email.ru\",\"login\":\"login1\",\"birthday\":\"1980-01-01\"}\n" +
+                        "{\"email\":\"2user@email.ru\",\"login\":\"login2\",\"birthday\":\"1981-01-01\"}\n" +
+                        "{\"email\":\"wrong\",\"login\":\"login3\",\"birthday\":\"1982-01-01\"}\n");
+        assertEquals(2, users.getImported());
+        assertEquals(1, users.getFailed());
+
+        ImportReport likes = post("/likes",
+                "{\"filmId\":2,\"userId\":1}\n{\"filmId\":2,\"userId\":2}\n{\"filmId\":2,\"userId\":2}\n" +
+                        "{\"filmId\":1,\"userId\":3}\n");
+        assertEquals(2, likes.getImported());
+        assertEquals(1, likes.getSkipped());
+        assertEquals(1, likes.getFailed());
+
+        ImportReport friends = post("/friends", "{\"userId\":1,\"friendId\":2}\n");
+        assertEquals(1, friends.getImported());
+
+        Film[] popular = restTemplate.getForObject("/films/popular?count=2", Film[].class);
+        assertEquals(List.of(2, 1), Arrays.stream(popular).map(Film::getId).collect(Collectors.toList()));
+
+        User[] userFriends = restTemplate.getForObject("/users/1/friends", User[].class);
+        assertEquals(1, userFriends.length);
+        assertEquals("login2", userFriends[0].getName());
+    }
+
+    private ImportReport post(String path, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        ResponseEntity<ImportReport> response = restTemplate.postForEntity(url + path,
+                new HttpEntity<>(body, headers), ImportReport.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+}
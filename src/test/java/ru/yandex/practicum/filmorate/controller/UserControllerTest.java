@@ -74,6 +74,35 @@ class UserControllerTest {
         assertEquals(expected, response, "Списки пользователей не совпадают.");
     }
 
+    @Test
+    void getUsersPage() {
+        restTemplate.postForEntity(url, user1, User.class);
+        restTemplate.postForEntity(url, user2, User.class);
+        restTemplate.postForEntity(url, user3, User.class);
+
+        user1.setId(1);
+        user2.setId(2);
+        String expected = gson.toJson(List.of(user1, user2));
+
+        String response = this.restTemplate.getForObject(url + "?limit=2", String.class);
+        assertEquals(expected, response, "Списки пользователей не совпадают.");
+    }
+
+    @Test
+    void getUsersWithFields() {
+        restTemplate.postForEntity(url, user1, User.class);
+        restTemplate.postForEntity(url, user2, User.class);
+        restTemplate.put(url + "/1/friends/2", null);
+
+        assertEquals("[{\"id\":1,\"login\":\"1userLogin\",\"friends\":[2]}," +
+                        "{\"id\":2,\"login\":\"2userLogin\",\"friends\":[]}]",
+                restTemplate.getForObject(url + "?fields=login,friends", String.class),
+                "Поля пользователей не совпадают.");
+        assertEquals("[{\"id\":2,\"email\":\"2user@email.ru\"}]",
+                restTemplate.getForObject(url + "?afterId=1&fields=email", String.class),
+                "Поля пользователей не совпадают.");
+    }
+
     @Test
     void saveUser() {
         final ResponseEntity<User> response = restTemplate.postForEntity(url, user1, User.class);
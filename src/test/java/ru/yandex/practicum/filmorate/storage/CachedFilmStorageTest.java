@@ -0,0 +1,110 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.controller.StorageCacheEndpoint;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.film_storage.CachedFilmStorage;
+import ru.yandex.practicum.filmorate.storage.user_storage.CachedUserStorage;
+import ru.yandex.practicum.filmorate.storage.user_storage.UserDbStorage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachedFilmStorageTest {
+    private final CachedFilmStorage filmStorage;
+    private final UserDbStorage userStorage;
+    private final CachedUserStorage cachedUserStorage;
+    private final StorageCacheEndpoint storageCacheEndpoint;
+
+    @Test
+    void testFilmCacheIsInvalidatedOnChanges() {
+        Film film = Film.builder()
+                .name("name")
+                .description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1))
+                .duration(100)
+                .mpa(new MpaRating(1, null))
+                .genres(new ArrayList<>())
+                .usersLikes(new HashSet<>())
+                .build();
+        filmStorage.createFilm(film);
+        User user = userStorage.createUser(User.builder()
+                .name("name")
+                .login("login")
+                .email("user@email.ru")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .friends(new HashSet<>())
+                .build());
+
+        filmStorage.getFilmById(film.getId()).setName("changed");
+        assertEquals("name", filmStorage.getFilmById(film.getId()).getName(), "кэш отдает изменяемый объект");
+
+        assertTrue(filmStorage.addLike(film.getId(), user.getId()));
+        assertEquals(1, filmStorage.getFilmById(film.getId()).getLikesCount());
+
+        film.setName("updated");
+        film.setUsersLikes(Set.of(user.getId()));
+        filmStorage.updateFilm(film);
+        assertEquals("updated", filmStorage.getFilmById(film.getId()).getName());
+
+        filmStorage.deleteFilmById(film.getId());
+        assertNull(filmStorage.getFilmById(film.getId()));
+
+        Map<String, Object> stats = storageCacheEndpoint.caches().get("films");
+        assertEquals(1L, stats.get("hitCount"));
+        assertEquals(4L, stats.get("missCount"));
+    }
+
+    @Test
+    void testUserDeletionInvalidatesOnlyLikedFilms() {
+        Film likedFilm = filmStorage.createFilm(createFilm("liked"));
+        Film otherFilm = filmStorage.createFilm(createFilm("other"));
+        User user = cachedUserStorage.createUser(User.builder()
+                .name("name")
+                .login("login")
+                .email("user@email.ru")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .friends(new HashSet<>())
+                .build());
+        filmStorage.addLike(likedFilm.getId(), user.getId());
+        assertEquals(1, filmStorage.getFilmById(likedFilm.getId()).getLikesCount());
+        filmStorage.getFilmById(otherFilm.getId());
+
+        cachedUserStorage.deleteUserById(user.getId());
+
+        assertEquals(0, filmStorage.getFilmById(likedFilm.getId()).getLikesCount(),
+                "фильм с лайком удаленного пользователя не удален из кэша");
+        filmStorage.getFilmById(otherFilm.getId());
+        Map<String, Object> stats = storageCacheEndpoint.caches().get("films");
+        assertEquals(1L, stats.get("hitCount"), "удаление пользователя очистило кэш других фильмов");
+    }
+
+    private Film createFilm(String name) {
+        return Film.builder()
+                .name(name)
+                .description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1))
+                .duration(100)
+                .mpa(new MpaRating(1, null))
+                .genres(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.storage.genre_storage.CachedGenreStorage;
+import ru.yandex.practicum.filmorate.storage.mpa_storage.CachedMpaRatingStorage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachedReferenceStorageTest {
+    private final CachedGenreStorage genreStorage;
+    private final CachedMpaRatingStorage mpaStorage;
+
+    @Test
+    void testGenreCacheIsInvalidatedOnChanges() {
+        assertEquals(6, genreStorage.getAll().size());
+        assertEquals("Комедия", genreStorage.getGenreById(1).getName());
+
+        genreStorage.updateGenre(new Genre(1, "Ситком"));
+        assertEquals("Ситком", genreStorage.getGenreById(1).getName());
+
+        genreStorage.createGenre(new Genre(null, "Вестерн"));
+        assertEquals("Вестерн", genreStorage.getGenreById(7).getName());
+
+        genreStorage.deleteGenreById(7);
+        assertNull(genreStorage.getGenreById(7));
+        assertEquals(6, genreStorage.getAll().size());
+    }
+
+    @Test
+    void testMpaCacheIsInvalidatedOnChanges() {
+        assertEquals(5, mpaStorage.getAll().size());
+        assertEquals("G", mpaStorage.getMpaRatingById(1).getName());
+
+        mpaStorage.updateMpaRating(new MpaRating(1, "G+"));
+        assertEquals("G+", mpaStorage.getMpaRatingById(1).getName());
+        assertNull(mpaStorage.getMpaRatingById(6));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.user_storage.CachedUserStorage;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachedUserStorageTest {
+    private final CachedUserStorage userStorage;
+
+    @Test
+    void testUserCacheIsInvalidatedOnFriendshipChanges() {
+        User user1 = userStorage.createUser(createUser(1));
+        User user2 = userStorage.createUser(createUser(2));
+        User user3 = userStorage.createUser(createUser(3));
+
+        userStorage.getUserById(user1.getId()).setName("changed");
+        assertEquals("Name1", userStorage.getUserById(user1.getId()).getName(), "кэш отдает изменяемый объект");
+
+        assertTrue(userStorage.addFriendship(user1.getId(), user2.getId()));
+        assertTrue(userStorage.addFriendship(user2.getId(), user1.getId()));
+        assertEquals(Set.of(user2.getId()), userStorage.getUserById(user1.getId()).getFriends());
+        assertEquals(Set.of(user1.getId()), userStorage.getUserById(user2.getId()).getFriends());
+
+        assertTrue(userStorage.removeFriendship(user1.getId(), user2.getId()));
+        assertNull(userStorage.getUserById(user1.getId()).getFriends());
+        assertNull(userStorage.getUserById(user2.getId()).getFriends());
+
+        List<Integer> usersIds = userStorage.getUsersByIds(List.of(user3.getId(), user1.getId(), 999)).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of(user1.getId(), user3.getId()), usersIds, "список пользователей не совпадает");
+    }
+
+    @Test
+    void testCommonFriendsFollowFriendshipChanges() {
+        User user1 = userStorage.createUser(createUser(1));
+        User user2 = userStorage.createUser(createUser(2));
+        User user3 = userStorage.createUser(createUser(3));
+        user1.setFriends(Set.of(user3.getId()));
+        userStorage.updateUser(user1);
+        userStorage.addFriendship(user2.getId(), user3.getId());
+
+        List<Integer> commonFriends = userStorage.getCommonFriends(user1.getId(), user2.getId()).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of(user3.getId()), commonFriends, "списки общих друзей не совпадают");
+
+        userStorage.removeFriendship(user3.getId(), user1.getId());
+        assertTrue(userStorage.getCommonFriends(user1.getId(), user2.getId()).isEmpty());
+    }
+
+    private User createUser(int ordinal) {
+        return User.builder()
+                .name("Name" + ordinal)
+                .login("login" + ordinal)
+                .email(ordinal + "user@email.ru")
+                .birthday(LocalDate.of(1990, 1, ordinal))
+                .friends(new HashSet<>())
+                .build();
+    }
+}
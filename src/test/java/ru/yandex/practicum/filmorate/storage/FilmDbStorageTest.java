@@ -6,22 +6,35 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.FilmField;
+import ru.yandex.practicum.filmorate.model.Genre;
 import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.PopularFilmsFilter;
+import ru.yandex.practicum.filmorate.model.User;
 import ru.yandex.practicum.filmorate.storage.film_storage.FilmDbStorage;
 import ru.yandex.practicum.filmorate.storage.genre_storage.GenreDbStorage;
 import ru.yandex.practicum.filmorate.storage.mpa_storage.MpaRatingDbStorage;
+import ru.yandex.practicum.filmorate.storage.user_storage.UserDbStorage;
 
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -31,6 +44,8 @@ class FilmDbStorageTest {
     private final FilmDbStorage filmStorage;
     private final MpaRatingDbStorage mpaStorage;
     private final GenreDbStorage genreStorage;
+    private final UserDbStorage userStorage;
+    private final JdbcTemplate jdbcTemplate;
     public Film film1;
     public Film film2;
     public Film film3;
@@ -69,6 +84,16 @@ class FilmDbStorageTest {
                 );
     }
 
+    @Test
+    void testCreateFilmWithDuplicateGenres() {
+        film1.setGenres(List.of(genreStorage.getGenreById(1), genreStorage.getGenreById(2),
+                genreStorage.getGenreById(1)));
+        filmStorage.createFilm(film1);
+
+        assertEquals(List.of(genreStorage.getGenreById(1), genreStorage.getGenreById(2)),
+                filmStorage.getFilmById(film1.getId()).getGenres(), "жанры фильма не должны повторяться");
+    }
+
     @Test
     void testGetFilmById() {
         filmStorage.createFilm(film1);
@@ -100,9 +125,9 @@ class FilmDbStorageTest {
         film2.setMpa(new MpaRating(2, null));
         film3.setMpa(new MpaRating(3, null));
 
-        film1.setUsersLikes(new HashSet<>());
-        film2.setUsersLikes(new HashSet<>());
-        film3.setUsersLikes(new HashSet<>());
+        film1.setLikesCount(0);
+        film2.setLikesCount(0);
+        film3.setLikesCount(0);
 
         List<Film> expectedFilms = List.of(film1, film2, film3);
         assertIterableEquals(expectedFilms, filmStorage.getAll(), "Списки фильмов не совпадают");
@@ -147,4 +172,131 @@ class FilmDbStorageTest {
                     assertThat(film).hasFieldOrPropertyWithValue("mpa", updatedMpa);
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPopularFilms() {
+        filmStorage.createFilm(film1);
+        filmStorage.createFilm(film2);
+        filmStorage.createFilm(film3);
+
+        User user1 = userStorage.createUser(User.builder()
+                .email("1user@email.ru").login("1userLogin").birthday(LocalDate.of(1960, 2, 3)).build());
+        User user2 = userStorage.createUser(User.builder()
+                .email("2user@email.ru").login("2userLogin").birthday(LocalDate.of(1970, 3, 5)).build());
+
+        film2.setUsersLikes(Set.of(user1.getId()));
+        film3.setUsersLikes(Set.of(user1.getId(), user2.getId()));
+        filmStorage.updateFilm(film2);
+        filmStorage.updateFilm(film3);
+
+        List<Integer> popular = filmStorage.getPopularFilms(2).stream()
+                .map(Film::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of(3, 2), popular, "Порядок популярных фильмов не совпадает");
+
+        film3.setUsersLikes(Set.of());
+        filmStorage.updateFilm(film3);
+
+        popular = filmStorage.getPopularFilms(10).stream()
+                .map(Film::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of(2, 1, 3), popular, "Порядок популярных фильмов не совпадает");
+    }
+
+    @Test
+    void testAddAndRemoveLike() {
+        filmStorage.createFilm(film1);
+        User user = userStorage.createUser(User.builder()
+                .email("1user@email.ru").login("1userLogin").birthday(LocalDate.of(1960, 2, 3)).build());
+
+        assertTrue(filmStorage.addLike(film1.getId(), user.getId()));
+        assertFalse(filmStorage.addLike(film1.getId(), user.getId()), "Повторный лайк не должен сохраняться");
+        assertFalse(filmStorage.addLike(film1.getId(), 999), "Лайк от несуществующего пользователя");
+        assertEquals(List.of(user.getId()), filmStorage.getFilmLikes(film1.getId(), 0, 10));
+        assertEquals(1, filmStorage.getFilmById(film1.getId()).getLikesCount());
+        assertNull(filmStorage.getFilmById(film1.getId()).getUsersLikes(), "Лайки не должны загружаться с фильмом");
+
+        assertTrue(filmStorage.removeLike(film1.getId(), user.getId()));
+        assertFalse(filmStorage.removeLike(film1.getId(), user.getId()));
+        assertTrue(filmStorage.getFilmLikes(film1.getId(), 0, 10).isEmpty());
+        assertEquals(0, filmStorage.getFilmById(film1.getId()).getLikesCount());
+    }
+
+    @Test
+    void testRecalculateLikesCount() {
+        filmStorage.createFilm(film1);
+        filmStorage.createFilm(film2);
+        User user = userStorage.createUser(User.builder()
+                .email("1user@email.ru").login("1userLogin").birthday(LocalDate.of(1960, 2, 3)).build());
+        filmStorage.addLike(film1.getId(), user.getId());
+
+        jdbcTemplate.update("update film set likes_count = 5");
+
+        assertEquals(2, filmStorage.recalculateLikesCount());
+        assertEquals(List.of(1, 0), jdbcTemplate.queryForList(
+                "select likes_count from film order by film_id", Integer.class));
+        assertEquals(0, filmStorage.recalculateLikesCount());
+    }
+
+    @Test
+    void testGetPopularFilmsWithFilter() {
+        film1.setGenres(List.of(new Genre(1, null), new Genre(2, null)));
+        film2.setGenres(List.of(new Genre(2, null)));
+        filmStorage.createFilm(film1);
+        filmStorage.createFilm(film2);
+        filmStorage.createFilm(film3);
+        for (int i = 1; i <= 2; i++) {
+            userStorage.createUser(User.builder()
+                    .email(i + "user@email.ru").login(i + "userLogin").birthday(LocalDate.of(1960, 2, 3)).build());
+        }
+        filmStorage.addLike(1, 1);
+        filmStorage.addLike(2, 1);
+        filmStorage.addLike(2, 2);
+
+        assertEquals(List.of(2, 1), getPopularFilmIds(new PopularFilmsFilter(2, null, null)));
+        assertEquals(List.of(1), getPopularFilmIds(new PopularFilmsFilter(1, null, null)));
+        assertEquals(List.of(2), getPopularFilmIds(new PopularFilmsFilter(null, 1920, null)));
+        assertEquals(List.of(3), getPopularFilmIds(new PopularFilmsFilter(null, null, 3)));
+        assertEquals(List.of(1), getPopularFilmIds(new PopularFilmsFilter(2, 1910, 1)));
+        assertEquals(List.of(), getPopularFilmIds(new PopularFilmsFilter(3, null, null)));
+
+        film1.setGenres(List.of(new Genre(3, null)));
+        film1.setUsersLikes(null);
+        filmStorage.updateFilm(film1);
+        filmStorage.removeLike(2, 1);
+        filmStorage.removeLike(2, 2);
+
+        assertEquals(List.of(1), getPopularFilmIds(new PopularFilmsFilter(3, null, null)),
+                "Новый жанр должен получить счетчик лайков фильма");
+        assertEquals(List.of(0), jdbcTemplate.queryForList(
+                "select likes_count from film_genres where film_id = 2", Integer.class));
+
+        jdbcTemplate.update("update film_genres set likes_count = 5");
+        filmStorage.recalculateLikesCount();
+        assertEquals(List.of(1, 0), jdbcTemplate.queryForList(
+                "select likes_count from film_genres order by film_id", Integer.class));
+    }
+
+    @Test
+    void testUpdateFilmRollsBackOnError() {
+        User user = userStorage.createUser(User.builder()
+                .email("1user@email.ru").login("1userLogin").birthday(LocalDate.of(1960, 2, 3)).build());
+        filmStorage.createFilm(film1);
+        film1.setGenres(List.of(new Genre(3, null)));
+        film1.setUsersLikes(Set.of(user.getId()));
+        film1.setMpa(new MpaRating(99, null));
+
+        assertThrows(DataIntegrityViolationException.class, () -> filmStorage.updateFilm(film1));
+
+        assertEquals(0, filmStorage.getFilmById(1).getLikesCount(), "счетчик лайков изменен в отмененной транзакции");
+        assertEquals(List.of(), filmStorage.getFilmLikes(1, 0, 10), "лайки записаны в отмененной транзакции");
+        assertEquals(List.of(), jdbcTemplate.queryForList("select genre_id from film_genres where film_id = 1",
+                Integer.class), "жанры записаны в отмененной транзакции");
+    }
+
+    private List<Integer> getPopularFilmIds(PopularFilmsFilter filter) {
+        return filmStorage.getPopularFilms(10, filter, EnumSet.of(FilmField.ID)).stream()
+                .map(Film::getId)
+                .collect(Collectors.toList());
+    }
+}
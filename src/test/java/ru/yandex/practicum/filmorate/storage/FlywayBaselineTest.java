@@ -0,0 +1,52 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlywayBaselineTest {
+
+    @Test
+    void migrateDatabaseCreatedByOldSchemaScripts() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into mpa_rating(name) values ('G'), ('PG'), ('PG-13'), ('R'), ('NC-17')");
+        jdbcTemplate.update("insert into genre(name) values ('Комедия'), ('Драма'), ('Мультфильм'), ('Триллер'), " +
+                "('Документальный'), ('Боевик')");
+        jdbcTemplate.update("insert into film(name, description, releaseDate, duration, mpa_rating_id) " +
+                "values ('name', 'description', '2000-01-01', 100, 1)");
+        jdbcTemplate.update("insert into users(name, login, email, birthday) values " +
+                "('name1', 'login1', '1user@email.ru', '1990-01-01'), ('name2', 'login2', '2user@email.ru', '1990-01-01')");
+        jdbcTemplate.update("insert into film_genres(film_id, genre_id) values (1, 1), (1, 1)");
+        jdbcTemplate.update("insert into user_likes(film_id, user_id) values (1, 1), (1, 1), (1, 2)");
+        jdbcTemplate.update("insert into friends(user_id, friend_id) values (1, 2), (1, 2)");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertEquals(2, jdbcTemplate.queryForObject("select likes_count from film where film_id = 1", Integer.class),
+                "счетчик лайков не заполнен по таблице user_likes");
+        assertEquals(List.of(2), jdbcTemplate.queryForList("select likes_count from film_genres", Integer.class),
+                "повторяющиеся жанры не удалены или счетчик лайков жанра не заполнен");
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from friends", Integer.class),
+                "повторяющиеся записи о дружбе не удалены");
+        assertEquals(2000, jdbcTemplate.queryForObject("select release_year from film", Integer.class),
+                "год выхода фильма не вычислен");
+        assertEquals(6, jdbcTemplate.queryForObject("select count(*) from genre", Integer.class),
+                "справочник жанров задублирован");
+    }
+}
@@ -0,0 +1,55 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.storage.user_storage.FriendGraph;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FriendGraphTest {
+    private FriendGraph friendGraph;
+
+    @BeforeEach
+    public void beforeEach() {
+        friendGraph = new FriendGraph();
+        friendGraph.rebuild(new int[]{1, 1, 1, 2, 2, 3}, new int[]{4, 2, 3, 3, 5, 6}, 6);
+    }
+
+    @Test
+    void testRebuildSortsRows() {
+        assertArrayEquals(new int[]{2, 3, 4}, friendGraph.getFriends(1));
+        assertArrayEquals(new int[]{3, 5}, friendGraph.getFriends(2));
+        assertArrayEquals(new int[0], friendGraph.getFriends(99));
+        assertEquals(6, friendGraph.getEdgeCount());
+    }
+
+    @Test
+    void testCommonFriends() {
+        assertArrayEquals(new int[]{3}, friendGraph.getCommonFriends(1, 2), "общие друзья не совпадают");
+        assertArrayEquals(new int[0], friendGraph.getCommonFriends(1, 99));
+    }
+
+    @Test
+    void testWritesKeepRowsSorted() {
+        assertTrue(friendGraph.add(2, 4));
+        assertFalse(friendGraph.add(2, 4), "повторная дружба не должна добавляться");
+        assertArrayEquals(new int[]{3, 4, 5}, friendGraph.getFriends(2));
+
+        assertTrue(friendGraph.remove(1, 3));
+        assertFalse(friendGraph.remove(1, 3));
+        assertArrayEquals(new int[]{2, 4}, friendGraph.getFriends(1));
+
+        assertTrue(friendGraph.add(100, 1));
+        friendGraph.setFriends(3, List.of(7, 1, 7));
+        assertArrayEquals(new int[]{1, 7}, friendGraph.getFriends(3));
+
+        friendGraph.removeUser(2);
+        assertArrayEquals(new int[0], friendGraph.getFriends(2));
+        assertEquals(5, friendGraph.getEdgeCount());
+    }
+}
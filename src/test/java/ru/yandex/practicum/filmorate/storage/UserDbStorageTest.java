@@ -6,18 +6,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.MpaRating;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.film_storage.FilmDbStorage;
 import ru.yandex.practicum.filmorate.storage.user_storage.UserDbStorage;
 
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -25,6 +34,8 @@ import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class UserDbStorageTest {
     private final UserDbStorage userStorage;
+    private final FilmDbStorage filmStorage;
+    private final JdbcTemplate jdbcTemplate;
     public User user1;
     public User user2;
     public User user3;
@@ -104,6 +115,30 @@ class UserDbStorageTest {
         assertFalse(userOptional.isPresent());
     }
 
+    @Test
+    void testDeleteUserDecrementsLikesCount() {
+        userStorage.createUser(user1);
+        userStorage.createUser(user2);
+        Film film = filmStorage.createFilm(Film.builder()
+                .name("name")
+                .description("description")
+                .releaseDate(LocalDate.of(2000, 1, 1))
+                .duration(100)
+                .mpa(new MpaRating(1, null))
+                .genres(List.of(new Genre(1, null), new Genre(2, null)))
+                .build());
+        filmStorage.addLike(film.getId(), user1.getId());
+        filmStorage.addLike(film.getId(), user2.getId());
+
+        userStorage.deleteUserById(user1.getId());
+
+        assertEquals(1, filmStorage.getFilmById(film.getId()).getLikesCount(),
+                "счетчик лайков фильма не уменьшился");
+        assertEquals(List.of(1, 1), jdbcTemplate.queryForList(
+                "select likes_count from film_genres where film_id = ? order by genre_id", Integer.class,
+                film.getId()), "счетчики лайков в жанрах фильма не уменьшились");
+    }
+
     @Test
     void testUpdateUser() {
         userStorage.createUser(user1);
@@ -132,4 +167,72 @@ class UserDbStorageTest {
                     assertThat(user).hasFieldOrPropertyWithValue("birthday", updatedBirthday);
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateAndUpdateUserFriends() {
+        userStorage.createUser(user1);
+        userStorage.createUser(user2);
+        user3.setFriends(Set.of(user1.getId(), user2.getId()));
+        userStorage.createUser(user3);
+
+        assertEquals(Set.of(user1.getId(), user2.getId()), userStorage.getUserById(user3.getId()).getFriends(),
+                "друзья нового пользователя не сохранены");
+
+        user3.setFriends(Set.of(user2.getId()));
+        userStorage.updateUser(user3);
+
+        assertEquals(Set.of(user2.getId()), userStorage.getUserById(user3.getId()).getFriends(),
+                "друзья пользователя не обновлены");
+    }
+
+    @Test
+    void testGetUsersByIds() {
+        userStorage.createUser(user1);
+        userStorage.createUser(user2);
+        userStorage.createUser(user3);
+
+        user1.setFriends(Set.of(user2.getId(), user3.getId()));
+        userStorage.updateUser(user1);
+        user1.setFriends(new HashSet<>(user1.getFriends()));
+
+        List<User> expectedUsers = List.of(user1, user3);
+
+        assertIterableEquals(expectedUsers, userStorage.getUsersByIds(List.of(3, 1, 99)),
+                "списки пользователей не совпадают");
+    }
+
+    @Test
+    void testGetCommonFriends() {
+        userStorage.createUser(user1);
+        userStorage.createUser(user2);
+        userStorage.createUser(user3);
+
+        user1.setFriends(Set.of(user3.getId()));
+        user2.setFriends(Set.of(user1.getId(), user3.getId()));
+        userStorage.updateUser(user1);
+        userStorage.updateUser(user2);
+
+        List<Integer> commonFriends = userStorage.getCommonFriends(user1.getId(), user2.getId()).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+
+        assertIterableEquals(List.of(user3.getId()), commonFriends, "списки общих друзей не совпадают");
+        assertTrue(userStorage.getCommonFriends(user3.getId(), user1.getId()).isEmpty());
+    }
+
+    @Test
+    void testAddAndRemoveFriendship() {
+        userStorage.createUser(user1);
+        userStorage.createUser(user2);
+
+        assertTrue(userStorage.addFriendship(user1.getId(), user2.getId()));
+        assertFalse(userStorage.addFriendship(user1.getId(), user2.getId()), "Повторная дружба не должна сохраняться");
+        assertFalse(userStorage.addFriendship(user1.getId(), 999), "Дружба с несуществующим пользователем");
+        assertTrue(userStorage.addFriendship(user2.getId(), user1.getId()));
+        assertEquals(Set.of(user2.getId()), userStorage.getUserById(user1.getId()).getFriends());
+
+        assertTrue(userStorage.removeFriendship(user1.getId(), user2.getId()));
+        assertFalse(userStorage.removeFriendship(user1.getId(), user2.getId()));
+        assertTrue(userStorage.getAll().stream().allMatch(user -> user.getFriends().isEmpty()));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.yandex.practicum.filmorate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntHashSetTest {
+
+    @Test
+    void testBehavesLikeHashSet() {
+        Random random = new Random(42);
+        IntHashSet actual = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(2_000) - 10;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), actual.remove(value), "результат удаления " + value);
+            } else {
+                assertEquals(expected.add(value), actual.add(value), "результат добавления " + value);
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual, "множества не совпадают");
+        assertEquals(actual, expected, "множества не совпадают");
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    void testZeroAndIteratorRemove() {
+        IntHashSet set = new IntHashSet(Set.of(0, 1, 2));
+        assertTrue(set.contains(0));
+        assertFalse(set.add(0));
+
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Set.of(1), set);
+        assertFalse(set.contains((Object) "1"));
+    }
+}